@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+#
+# Measures the allocation saved by PostJsonWriter over Jackson for List<Post>
+# responses:
+#   1. JMH with the GC profiler; compare gc.alloc.rate.norm (bytes per list)
+#      and gc.count of the jackson and writer benchmarks.
+#   2. One fork per serializer with a unified GC log, summarised as the number
+#      of young collections and the total pause time.
+#
+# Results are written to target/json-writer-benchmark.
+#
+# usage: scripts/json-writer-benchmark.sh [list-size]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SIZE=${1:-10000}
+WORK=target/json-writer-benchmark
+BENCHMARK=com.exam.project.json.PostJsonWriterBenchmark
+
+mkdir -p "$WORK"
+
+./mvnw -B -q test-compile
+./mvnw -B -q dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile="$WORK/classpath.txt"
+CP="target/test-classes:target/classes:$(cat "$WORK/classpath.txt")"
+
+echo "== JMH, GC profiler"
+java -cp "$CP" org.openjdk.jmh.Main "$BENCHMARK" -prof gc \
+  -rf json -rff "$WORK/jmh.json" | tee "$WORK/jmh.txt"
+
+echo
+echo "== GC logs, size=$SIZE"
+printf '%-8s %12s %14s\n' serializer collections pause-ms
+for impl in jackson writer; do
+  log="$WORK/gc-$impl.log"
+  rm -f "$log"
+  java -cp "$CP" org.openjdk.jmh.Main "$BENCHMARK.$impl" -p size="$SIZE" -f 1 \
+    -jvmArgsAppend "-Xmx512m -Xlog:gc:file=$log" >/dev/null
+  collections=$(grep -c 'Pause Young' "$log" || true)
+  pause=$(grep 'Pause Young' "$log" | sed -E 's/.* ([0-9.]+)ms$/\1/' | awk '{ s += $1 } END { printf "%.1f", s }')
+  printf '%-8s %12s %14s\n' "$impl" "$collections" "$pause"
+done
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the backend in each start mode:
+#   jvm      plain executable jar
+#   aot      jar built with -Pfast-start, started with -Dspring.aot.enabled=true
+#   cds      plain jar with a dynamic class-data-sharing archive
+#   aot-cds  AOT jar with a CDS archive
+#   native   GraalVM native image (only if target/project exists, see -Pnative)
+#
+# Startup time is measured until /actuator/health reports UP; RSS is sampled
+# at that point. Each mode is started RUNS times and the results averaged.
+#
+# usage: scripts/startup-benchmark.sh [runs]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=9098
+URL="http://localhost:${PORT}/actuator/health"
+JAR=target/project-0.0.1-SNAPSHOT.jar
+WORK=target/startup-benchmark
+PROFILE_ARGS=(--spring.profiles.active=prod)
+
+mkdir -p "$WORK"
+
+# Starts the command in the background, waits for readiness and prints "<millis> <rss-kb>".
+measure() {
+  local start end pid rss
+  start=$(date +%s%N)
+  "$@" "${PROFILE_ARGS[@]}" >"$WORK/last.log" 2>&1 &
+  pid=$!
+  until curl -sf "$URL" >/dev/null 2>&1; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited during startup, see $WORK/last.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+# Runs a training start that writes a CDS archive when the JVM exits.
+train_cds() {
+  local archive=$1
+  shift
+  rm -f "$archive"
+  measure java -XX:ArchiveClassesAtExit="$archive" "$@" >/dev/null
+}
+
+report() {
+  local mode=$1
+  shift
+  local total_ms=0 total_rss=0 result
+  for _ in $(seq "$RUNS"); do
+    result=$(measure "$@")
+    total_ms=$(( total_ms + ${result% *} ))
+    total_rss=$(( total_rss + ${result#* } ))
+  done
+  printf '%-8s %10d ms %10d MB\n' "$mode" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+./mvnw -q -DskipTests package
+cp "$JAR" "$WORK/jvm.jar"
+./mvnw -q -DskipTests -Pfast-start package
+cp "$JAR" "$WORK/aot.jar"
+
+train_cds "$WORK/jvm.jsa" -jar "$WORK/jvm.jar"
+train_cds "$WORK/aot.jsa" -Dspring.aot.enabled=true -jar "$WORK/aot.jar"
+
+printf '%-8s %13s %13s\n' mode startup rss
+report jvm     java -jar "$WORK/jvm.jar"
+report aot     java -Dspring.aot.enabled=true -jar "$WORK/aot.jar"
+report cds     java -XX:SharedArchiveFile="$WORK/jvm.jsa" -jar "$WORK/jvm.jar"
+report aot-cds java -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true -jar "$WORK/aot.jar"
+if [[ -x target/project ]]; then
+  report native target/project
+fi
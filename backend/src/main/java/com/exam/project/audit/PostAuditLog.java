@@ -0,0 +1,281 @@
+package com.exam.project.audit;
+
+import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous writer of the {@link PostChange} log.
+ *
+ * <p>
+ * {@link #record} only captures the change and appends it to a lock-free
+ * queue, after the surrounding transaction commits when there is one. A
+ * scheduled task drains the queue every {@code posts.audit.flush-interval}
+ * and inserts the changes in JDBC batches of {@code posts.audit.batch-size},
+ * so requests never wait for audit writes.
+ * </p>
+ *
+ * <p>
+ * The queue holds at most {@code posts.audit.capacity} changes. Once it is
+ * full, for example while the database is down, further changes are dropped
+ * and counted instead of slowing down or failing requests. A batch that
+ * fails to insert is retried on the next run. If it fails again, its changes
+ * are inserted one by one and those the database rejects as invalid are
+ * discarded, so a single bad change cannot block the queue.
+ * </p>
+ */
+@Component
+public class PostAuditLog {
+
+    /**
+     * Request header naming the user making a change; the client address is
+     * recorded when it is absent.
+     */
+    public static final String USER_HEADER = "X-User";
+
+    private static final Logger log = LoggerFactory.getLogger(PostAuditLog.class);
+
+    private final PostChangeRepository postChangeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<PendingChange> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Changes recorded but not yet written, including a failed batch.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Batch that failed to insert; only touched by {@link #flush()}.
+     */
+    private List<PendingChange> retry = List.of();
+
+    public PostAuditLog(PostChangeRepository postChangeRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${posts.audit.capacity:100000}") int capacity,
+                        @Value("${posts.audit.batch-size:500}") int batchSize) {
+        this.postChangeRepository = postChangeRepository;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Records a change to be written asynchronously.
+     *
+     * @param postId    the changed post, or {@code null} for {@link Operation#DELETE_ALL}
+     * @param operation the kind of change
+     * @param diff      changed fields mapped to their old and new values, see {@link #diff}
+     */
+    public void record(Long postId, Operation operation, Map<String, Object[]> diff) {
+        PendingChange change = new PendingChange(postId, operation, diff, currentUser(), LocalDateTime.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(change);
+                }
+            });
+        } else {
+            enqueue(change);
+        }
+    }
+
+    /**
+     * Writes all queued changes in batches.
+     *
+     * @return number of changes written
+     */
+    @Scheduled(fixedDelayString = "${posts.audit.flush-interval:PT0.2S}")
+    @PreDestroy
+    public synchronized int flush() {
+        int written = 0;
+        while (true) {
+            List<PendingChange> batch = retry.isEmpty() ? poll() : retry;
+            if (batch.isEmpty()) {
+                return written;
+            }
+            try {
+                postChangeRepository.saveAll(batch.stream().map(this::toEntity).toList());
+            } catch (Exception e) {
+                if (batch != retry) {
+                    retry = batch;
+                    log.warn("Could not write {} post changes, retrying on the next run", batch.size(), e);
+                    return written;
+                }
+                log.warn("Could not write {} post changes again, writing them one by one", batch.size(), e);
+                int handled = 0;
+                for (PendingChange change : batch) {
+                    try {
+                        postChangeRepository.save(toEntity(change));
+                        written++;
+                    } catch (DataIntegrityViolationException invalid) {
+                        discarded.incrementAndGet();
+                        log.error("Discarding {} change of post {} rejected by the database",
+                                change.operation(), change.postId(), invalid);
+                    } catch (Exception unavailable) {
+                        break;
+                    }
+                    handled++;
+                }
+                pending.addAndGet(-handled);
+                if (handled < batch.size()) {
+                    retry = new ArrayList<>(batch.subList(handled, batch.size()));
+                    return written;
+                }
+                retry = List.of();
+                continue;
+            }
+            retry = List.of();
+            pending.addAndGet(-batch.size());
+            written += batch.size();
+        }
+    }
+
+    /**
+     * @return number of changes recorded but not yet written
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @return number of changes dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of changes discarded because the database rejected them
+     */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /**
+     * Compares the user-editable fields of two posts.
+     *
+     * @param before the post before the change, or {@code null} when created
+     * @param after  the post after the change, or {@code null} when deleted
+     * @return each changed field mapped to its {@code [old, new]} values
+     */
+    public static Map<String, Object[]> diff(Post before, Post after) {
+        Map<String, Object[]> diff = new LinkedHashMap<>();
+        put(diff, "title", before == null ? null : before.getTitle(), after == null ? null : after.getTitle());
+        put(diff, "description", before == null ? null : before.getDescription(),
+                after == null ? null : after.getDescription());
+        put(diff, "published", before == null ? null : before.isPublished(),
+                after == null ? null : after.isPublished());
+        put(diff, "publishAt", before == null ? null : before.getPublishAt(),
+                after == null ? null : after.getPublishAt());
+        put(diff, "unpublishAt", before == null ? null : before.getUnpublishAt(),
+                after == null ? null : after.getUnpublishAt());
+        return diff;
+    }
+
+    private static void put(Map<String, Object[]> diff, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            diff.put(field, new Object[]{before, after});
+        }
+    }
+
+    private void enqueue(PendingChange change) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                log.warn("Audit queue full, {} post changes dropped so far", dropped.get());
+            }
+            return;
+        }
+        queue.offer(change);
+    }
+
+    private List<PendingChange> poll() {
+        List<PendingChange> batch = new ArrayList<>();
+        PendingChange change;
+        while (batch.size() < batchSize && (change = queue.poll()) != null) {
+            batch.add(change);
+        }
+        return batch;
+    }
+
+    private PostChange toEntity(PendingChange change) {
+        return new PostChange(change.postId(), change.operation(), toJson(change.diff()),
+                change.changedBy(), change.changedAt());
+    }
+
+    private String toJson(Map<String, Object[]> diff) {
+        if (diff == null || diff.isEmpty()) {
+            return null;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(diff);
+            if (json.length() <= PostChange.MAX_DIFF_LENGTH) {
+                return json;
+            }
+            // keep the changed fields, leaving out values too long for the column
+            Map<String, Object> fields = new LinkedHashMap<>();
+            diff.keySet().forEach(field -> fields.put(field, null));
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode post change diff", e);
+            return null;
+        }
+    }
+
+    private static String currentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String user = request.getHeader(USER_HEADER);
+        if (user == null || user.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return user.length() > PostChange.MAX_CHANGED_BY_LENGTH
+                ? user.substring(0, PostChange.MAX_CHANGED_BY_LENGTH)
+                : user;
+    }
+
+    private record PendingChange(Long postId, Operation operation, Map<String, Object[]> diff,
+                                 String changedBy, LocalDateTime changedAt) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.exam.project.cache;
+
+import com.exam.project.model.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes single {@link Post} responses from the {@link PostJsonCache}.
+ *
+ * <p>
+ * On a cache hit the stored bytes are copied straight to the response body,
+ * skipping Jackson serialization. On a miss the post is serialized once with
+ * the application {@link ObjectMapper} and stored for subsequent reads.
+ * Reading request bodies is left to the regular Jackson converter.
+ * </p>
+ */
+public class CachedPostHttpMessageConverter extends AbstractHttpMessageConverter<Post> {
+
+    private final PostJsonCache postJsonCache;
+
+    private final ObjectMapper objectMapper;
+
+    public CachedPostHttpMessageConverter(PostJsonCache postJsonCache, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.postJsonCache = postJsonCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Post.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Post readInternal(Class<? extends Post> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Post representations are read by Jackson", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Post post, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(encode(post));
+    }
+
+    /**
+     * Stores the representation of a post ahead of its first response.
+     *
+     * @param post the post to serialize
+     * @throws IOException if the post cannot be serialized
+     */
+    public void preload(Post post) throws IOException {
+        encode(post);
+    }
+
+    private byte[] encode(Post post) throws IOException {
+        if (post.getId() == 0) {
+            return objectMapper.writeValueAsBytes(post);
+        }
+        byte[] json = postJsonCache.get(post.getId(), post.getVersion());
+        if (json == null) {
+            json = objectMapper.writeValueAsBytes(post);
+            postJsonCache.put(post.getId(), post.getVersion(), json);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,191 @@
+package com.exam.project.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded log of the most recently accessed post IDs, persisted to a file.
+ *
+ * <p>
+ * IDs are kept in memory with the tick of their latest access and written to
+ * {@code posts.warmup.access-log.path}, most recent first and one per line,
+ * periodically and on shutdown. The file is read back at startup so the
+ * {@link com.exam.project.service.PostCacheWarmer} can preload the posts
+ * that were hot before the restart.
+ * </p>
+ *
+ * <p>
+ * Recording an access is lock-free, as it happens on every single-post read:
+ * it only stores the next tick for the ID. The log may grow to twice
+ * {@code posts.warmup.access-log.max-entries} before the least recently
+ * accessed IDs are dropped.
+ * </p>
+ *
+ * <p>
+ * The file is replaced atomically; a missing or unreadable file just means
+ * there is nothing to preload.
+ * </p>
+ */
+@Component
+public class PostAccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PostAccessLog.class);
+
+    private final Path path;
+
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<Long, Long> recent = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private volatile boolean dirty;
+
+    /**
+     * @param path       file the log is persisted to
+     * @param maxEntries maximum number of IDs to remember
+     */
+    public PostAccessLog(@Value("${posts.warmup.access-log.path:./post-access.log}") Path path,
+                         @Value("${posts.warmup.access-log.max-entries:1000}") int maxEntries) {
+        this.path = path;
+        this.maxEntries = maxEntries;
+        load();
+    }
+
+    /**
+     * Marks a post as just accessed.
+     *
+     * @param id the ID of the post
+     */
+    public void record(long id) {
+        recent.put(id, clock.incrementAndGet());
+        if (!dirty) {
+            dirty = true;
+        }
+        if (recent.size() > 2 * maxEntries) {
+            trim();
+        }
+    }
+
+    /**
+     * Removes a deleted post from the log.
+     *
+     * @param id the ID of the post
+     */
+    public void forget(long id) {
+        if (recent.remove(id) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Removes all posts from the log.
+     */
+    public void clear() {
+        recent.clear();
+        dirty = true;
+    }
+
+    /**
+     * @return up to {@code maxEntries} logged post IDs, most recently accessed first
+     */
+    public List<Long> recent() {
+        return mostRecent().stream()
+                .limit(maxEntries)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Writes the log to its file if it changed since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${posts.warmup.access-log.flush-interval:PT30S}",
+            initialDelayString = "${posts.warmup.access-log.flush-interval:PT30S}")
+    @PreDestroy
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        trim();
+        List<Long> ids = recent();
+
+        try {
+            Path absolute = path.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.US_ASCII)) {
+                for (Long id : ids) {
+                    writer.write(Long.toString(id));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("Could not write post access log {}", path, e);
+        }
+    }
+
+    private List<Map.Entry<Long, Long>> mostRecent() {
+        return recent.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+    }
+
+    /**
+     * Drops all but the {@code maxEntries} most recently accessed IDs. One
+     * caller trims at a time; IDs accessed again meanwhile are kept.
+     */
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mostRecent().stream()
+                    .skip(maxEntries)
+                    .forEach(entry -> recent.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+            // oldest first, so the most recent entry ends up at the tail of the access order
+            for (int i = Math.min(lines.size(), maxEntries) - 1; i >= 0; i--) {
+                String line = lines.get(i).trim();
+                if (!line.isEmpty()) {
+                    recent.put(Long.parseLong(line), clock.incrementAndGet());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            recent.clear();
+            log.warn("Ignoring unreadable post access log {}", path, e);
+        }
+    }
+}
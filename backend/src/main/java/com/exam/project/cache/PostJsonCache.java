@@ -0,0 +1,109 @@
+package com.exam.project.cache;
+
+import com.exam.project.model.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of pre-serialized JSON representations of single {@link Post} entities.
+ *
+ * <p>
+ * Entries are keyed by post ID and tagged with the entity version, so a
+ * representation is only served while it still matches the post being
+ * written. The cache is bounded by the total number of cached bytes and
+ * evicts the least recently used entries first.
+ * </p>
+ */
+@Component
+public class PostJsonCache {
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentBytes;
+
+    /**
+     * Creates the cache with the configured byte budget.
+     *
+     * @param maxBytes maximum total size of cached representations, in bytes
+     */
+    public PostJsonCache(@Value("${posts.cache.json.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached representation of a post.
+     *
+     * @param id      the ID of the post
+     * @param version the version of the post being written
+     * @return the encoded JSON, or {@code null} if absent or of another version
+     */
+    public synchronized byte[] get(long id, long version) {
+        Entry entry = entries.get(id);
+        if (entry == null || entry.version != version) {
+            return null;
+        }
+        return entry.json;
+    }
+
+    /**
+     * Stores the representation of a post, evicting older entries if the
+     * byte budget is exceeded. Representations larger than the whole budget
+     * are not cached.
+     *
+     * @param id      the ID of the post
+     * @param version the version of the post
+     * @param json    the encoded JSON
+     */
+    public synchronized void put(long id, long version, byte[] json) {
+        if (json.length > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(id, new Entry(version, json));
+        if (previous != null) {
+            currentBytes -= previous.json.length;
+        }
+        currentBytes += json.length;
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().json.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Removes the cached representation of a post.
+     *
+     * @param id the ID of the post
+     */
+    public synchronized void evict(long id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            currentBytes -= removed.json.length;
+        }
+    }
+
+    /**
+     * Removes all cached representations.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * @return total size of the cached representations, in bytes
+     */
+    public synchronized long size() {
+        return currentBytes;
+    }
+
+    private record Entry(long version, byte[] json) {
+    }
+}
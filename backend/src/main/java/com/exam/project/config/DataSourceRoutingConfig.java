@@ -0,0 +1,76 @@
+package com.exam.project.config;
+
+import com.exam.project.datasource.ReadYourWritesFilter;
+import com.exam.project.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single datasource with primary/replica routing when
+ * {@code posts.datasource.routing.enabled} is set.
+ *
+ * <p>
+ * The primary is built from the regular {@code spring.datasource.*}
+ * properties; each URL in {@code posts.datasource.replica-urls} becomes a
+ * replica using the same driver and credentials.
+ * </p>
+ *
+ * <p>
+ * The query cache is turned off: a result read from a lagging replica would
+ * be cached and served to the writer's next request, which read-your-writes
+ * pins to the primary.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "posts.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties,
+                                                      @Value("${posts.datasource.replica-urls:}") List<String> replicaUrls) {
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                replicas.put("replica-" + replicas.size(), DataSourceBuilder.create()
+                        .driverClassName(properties.determineDriverClassName())
+                        .url(url.trim())
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build());
+            }
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaQueryCacheCustomizer() {
+        return properties -> properties.put("hibernate.cache.use_query_cache", "false");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${posts.datasource.read-your-writes-window:5s}") Duration maxReplicationLag) {
+        return new ReadYourWritesFilter(maxReplicationLag);
+    }
+}
@@ -0,0 +1,29 @@
+package com.exam.project.config;
+
+import com.exam.project.cache.CachedPostHttpMessageConverter;
+import com.exam.project.cache.PostJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link CachedPostHttpMessageConverter} when the
+ * pre-serialized JSON cache is enabled with {@code posts.cache.json.enabled}.
+ *
+ * <p>
+ * Spring Boot places converter beans ahead of its defaults, so single
+ * {@code Post} responses are written from the cache while lists and request
+ * bodies keep going through Jackson.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "posts.cache.json.enabled", havingValue = "true")
+public class PostJsonCacheConfig {
+
+    @Bean
+    public CachedPostHttpMessageConverter cachedPostHttpMessageConverter(PostJsonCache postJsonCache,
+                                                                         ObjectMapper objectMapper) {
+        return new CachedPostHttpMessageConverter(postJsonCache, objectMapper);
+    }
+}
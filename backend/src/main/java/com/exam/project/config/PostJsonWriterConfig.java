@@ -0,0 +1,26 @@
+package com.exam.project.config;
+
+import com.exam.project.json.PostListHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link PostListHttpMessageConverter} when
+ * {@code posts.json.list-writer.enabled} is set.
+ *
+ * <p>
+ * The converter mirrors the default Jackson output for {@code Post}; turn it
+ * off when customizing the {@code ObjectMapper} through
+ * {@code spring.jackson.*} so list responses pick up the customization.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "posts.json.list-writer.enabled", havingValue = "true")
+public class PostJsonWriterConfig {
+
+    @Bean
+    public PostListHttpMessageConverter postListHttpMessageConverter() {
+        return new PostListHttpMessageConverter();
+    }
+}
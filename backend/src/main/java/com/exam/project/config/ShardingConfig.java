@@ -0,0 +1,89 @@
+package com.exam.project.config;
+
+import com.exam.project.sharding.GlobalIdAllocator;
+import com.exam.project.sharding.PostShards;
+import com.exam.project.sharding.ShardRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides {@link PostShards}, hash-partitioning posts across the datasources
+ * in {@code posts.sharding.shard-urls} when {@code posts.sharding.enabled} is
+ * set, and a single inline shard otherwise.
+ *
+ * <p>
+ * Every shard uses the driver and credentials of {@code spring.datasource.*}
+ * and gets the post schema from {@code schema-shard.sql}. Sharding replaces
+ * the application datasource, so it cannot be combined with replica routing.
+ * </p>
+ *
+ * <p>
+ * The Hibernate query cache is switched off while sharding: its keys hold
+ * only the SQL and parameters, so the same query on another shard would be
+ * answered with the first shard's IDs. The entity cache stays on, as post IDs
+ * are unique across shards.
+ * </p>
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public PostShards postShards(ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                 @Value("${posts.sharding.pool-size:16}") int poolSize) {
+        ShardRoutingDataSource shards = shardRoutingDataSource.getIfAvailable();
+        if (shards == null) {
+            return PostShards.single();
+        }
+        return new PostShards(shards.getShardCount(), new GlobalIdAllocator(shards.getShard(0), 50), poolSize);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "posts.sharding.enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+                                                             @Value("${posts.sharding.shard-urls}") List<String> shardUrls) {
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql"));
+
+            List<DataSource> shards = new ArrayList<>();
+            for (String url : shardUrls) {
+                DataSource shard = DataSourceBuilder.create()
+                        .driverClassName(properties.determineDriverClassName())
+                        .url(url.trim())
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build();
+                DatabasePopulatorUtils.execute(schema, shard);
+                shards.add(shard);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer shardedQueryCacheCustomizer() {
+            return properties -> properties.put("hibernate.cache.use_query_cache", "false");
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.exam.project.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.service.PostQuery;
 import com.exam.project.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,7 +30,7 @@ import org.springframework.web.bind.annotation.*;
  * </p>
  */
 @Tag(name = "Post API", description = "Operations related to Posts management")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 @RestController
 @RequestMapping("/api")
 public class PostController {
@@ -43,25 +47,31 @@ public class PostController {
   }
 
   /**
-   * Retrieves all posts or filters posts by title.
+   * Retrieves one page of all posts or of the posts filtered by title.
    *
    * @param title optional title to filter posts
-   * @return list of posts or NO_CONTENT if none found
+   * @param page  zero-based page number
+   * @param size  page size, at most {@value PostQuery#MAX_SIZE}
+   * @return page of posts or NO_CONTENT if none found
    */
   @Operation(
           summary = "Get all posts",
-          description = "Retrieve all posts or filter posts by title (case-insensitive)",
+          description = "Retrieve posts, optionally filtered by title (case-insensitive), ordered by ID and "
+                  + "paginated; use /posts/query for other filters and orders",
           responses = {
                   @ApiResponse(responseCode = "200", description = "Posts retrieved successfully",
                           content = @Content(schema = @Schema(implementation = Post.class))),
                   @ApiResponse(responseCode = "204", description = "No posts found"),
+                  @ApiResponse(responseCode = "400", description = "Invalid page or size"),
                   @ApiResponse(responseCode = "500", description = "Internal server error")
           }
   )
   @GetMapping("/posts")
   public ResponseEntity<List<Post>> getAllPosts(
-          @RequestParam(required = false) String title) {
-    return postService.getAllPosts(title);
+          @RequestParam(required = false) String title,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "" + PostQuery.MAX_SIZE) int size) {
+    return postService.getAllPosts(title, page, size);
   }
 
   /**
@@ -162,21 +172,88 @@ public class PostController {
   }
 
   /**
-   * Retrieves all published posts.
+   * Retrieves one page of the published posts.
    *
-   * @return list of published posts
+   * @param page zero-based page number
+   * @param size page size, at most {@value PostQuery#MAX_SIZE}
+   * @return page of published posts
    */
   @Operation(
           summary = "Get published posts",
-          description = "Retrieve all posts with published status = true",
+          description = "Retrieve posts with published status = true, ordered by ID and paginated",
           responses = {
                   @ApiResponse(responseCode = "200", description = "Published posts retrieved"),
                   @ApiResponse(responseCode = "204", description = "No published posts found"),
+                  @ApiResponse(responseCode = "400", description = "Invalid page or size"),
                   @ApiResponse(responseCode = "500", description = "Internal server error")
           }
   )
   @GetMapping("/posts/published")
-  public ResponseEntity<List<Post>> findByPublished() {
-    return postService.findByPublished();
+  public ResponseEntity<List<Post>> findByPublished(
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "" + PostQuery.MAX_SIZE) int size) {
+    return postService.findByPublished(page, size);
+  }
+
+  /**
+   * Retrieves one page of posts matching all given filters.
+   *
+   * @param title     optional text the title must contain
+   * @param published optional published status
+   * @param from      optional earliest creation time (inclusive)
+   * @param to        optional latest creation time (exclusive)
+   * @param sort      sort property and direction, e.g. {@code createdAt,desc}
+   * @param page      zero-based page number, up to an offset of {@value PostQuery#MAX_OFFSET}
+   * @param size      page size
+   * @param count     whether to return the total in the X-Total-Count header
+   * @return page of matching posts or NO_CONTENT if empty
+   */
+  @Operation(
+          summary = "Query posts",
+          description = "Filter posts by title, published status and creation time, sorted and paginated",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Posts retrieved successfully"),
+                  @ApiResponse(responseCode = "204", description = "No posts on this page"),
+                  @ApiResponse(responseCode = "400", description = "Invalid page, size, sort or offset"),
+                  @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @GetMapping("/posts/query")
+  public ResponseEntity<List<Post>> queryPosts(
+          @RequestParam(required = false) String title,
+          @RequestParam(required = false) Boolean published,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+          @RequestParam(defaultValue = "id") String sort,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return postService.queryPosts(new PostQuery(title, published, from, to, sort, page, size, count));
+  }
+
+  /**
+   * Retrieves the change history of a post, newest first.
+   *
+   * @param id     post ID
+   * @param before cursor from the X-Next-Before header of the previous page
+   * @param size   page size
+   * @return page of changes or NO_CONTENT if there are none
+   */
+  @Operation(
+          summary = "Get post history",
+          description = "Page through the changes made to a post, newest first, using the X-Next-Before cursor",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+                  @ApiResponse(responseCode = "204", description = "No further changes"),
+                  @ApiResponse(responseCode = "400", description = "Invalid size"),
+                  @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @GetMapping("/posts/{id}/history")
+  public ResponseEntity<List<PostChange>> getPostHistory(
+          @PathVariable("id") long id,
+          @RequestParam(required = false) Long before,
+          @RequestParam(defaultValue = "20") int size) {
+    return postService.getPostHistory(id, before, size);
   }
 }
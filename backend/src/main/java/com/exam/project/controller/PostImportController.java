@@ -0,0 +1,113 @@
+package com.exam.project.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import com.exam.project.importer.ImportJob;
+import com.exam.project.importer.PostImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * REST controller for bulk imports of {@link com.exam.project.model.Post} resources.
+ *
+ * <p>
+ * An upload is accepted immediately and imported in the background; its
+ * progress, throughput and rejected rows are polled through the returned job.
+ * </p>
+ */
+@Tag(name = "Post import API", description = "Bulk import of posts from CSV or NDJSON files")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+@RestController
+@RequestMapping("/api")
+public class PostImportController {
+
+  private final PostImporter postImporter;
+
+  /**
+   * Constructor-based dependency injection of {@link PostImporter}.
+   *
+   * @param postImporter importer running the import jobs
+   */
+  public PostImportController(PostImporter postImporter) {
+    this.postImporter = postImporter;
+  }
+
+  /**
+   * Starts importing posts from an uploaded file.
+   *
+   * @param file   CSV file with a header row, or NDJSON file with one post per line
+   * @param format csv or ndjson; detected from the file name or content type when omitted
+   * @return the queued job, located at /api/posts/imports/{id}
+   */
+  @Operation(
+          summary = "Import posts",
+          description = "Upload a CSV or NDJSON file with title, description, published, publishAt and unpublishAt "
+                  + "columns; the posts are imported in the background",
+          responses = {
+                  @ApiResponse(responseCode = "202", description = "Import started"),
+                  @ApiResponse(responseCode = "400", description = "Unknown format"),
+                  @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @PostMapping(value = "/posts/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJob> importPosts(
+          @RequestParam("file") MultipartFile file,
+          @RequestParam(required = false) String format) {
+    try {
+      ImportJob job = postImporter.start(file, format);
+      return ResponseEntity.accepted().location(URI.create("/api/posts/imports/" + job.getId())).body(job);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Retrieves all retained import jobs, oldest first.
+   *
+   * @return list of jobs or NO_CONTENT if there are none
+   */
+  @Operation(
+          summary = "Get import jobs",
+          description = "Retrieve the status of recent import jobs",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully"),
+                  @ApiResponse(responseCode = "204", description = "No import jobs")
+          }
+  )
+  @GetMapping("/posts/imports")
+  public ResponseEntity<List<ImportJob>> getImports() {
+    List<ImportJob> jobs = postImporter.findAll();
+    return jobs.isEmpty() ? new ResponseEntity<>(HttpStatus.NO_CONTENT) : new ResponseEntity<>(jobs, HttpStatus.OK);
+  }
+
+  /**
+   * Retrieves the status of an import job.
+   *
+   * @param id job ID
+   * @return the job or NOT_FOUND
+   */
+  @Operation(
+          summary = "Get import job",
+          description = "Retrieve the state, row counts, throughput and rejected rows of an import",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Job found"),
+                  @ApiResponse(responseCode = "404", description = "Job not found")
+          }
+  )
+  @GetMapping("/posts/imports/{id}")
+  public ResponseEntity<ImportJob> getImport(@PathVariable("id") UUID id) {
+    return postImporter.find(id)
+            .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+  }
+}
@@ -0,0 +1,60 @@
+package com.exam.project.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for {@link ReplicaRoutingDataSource}.
+ *
+ * <p>
+ * A thread pinned to the primary sends read-only transactions to the primary
+ * as well, so a client that just wrote reads its own writes even if the
+ * replicas lag behind.
+ * </p>
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Wraps a task so that it runs with the calling thread's routing hints,
+     * for work handed off to another thread. The hints of the thread running
+     * the task are restored afterwards, so the task may also run on the
+     * calling thread itself.
+     *
+     * @param task the task to wrap
+     * @return a task applying the captured hints while it runs
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        boolean pinned = isPinnedToPrimary();
+        return () -> {
+            boolean previous = isPinnedToPrimary();
+            if (pinned) {
+                pinToPrimary();
+            }
+            try {
+                return task.get();
+            } finally {
+                if (previous) {
+                    pinToPrimary();
+                } else {
+                    clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.exam.project.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to replica datasources and everything else
+ * to the primary.
+ *
+ * <p>
+ * Replicas are picked round-robin. Reads fall back to the primary when no
+ * replica is configured or the thread is pinned with
+ * {@link ReplicaRoutingContext#pinToPrimary()}. The routing decision relies on
+ * the transaction's read-only flag, so this datasource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers fetching the connection until the flag is set.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Object> replicaKeys;
+
+    private final List<DataSource> targets = new ArrayList<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param primary  the datasource receiving writes
+     * @param replicas replica datasources by name
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.targets.add(primary);
+        this.targets.addAll(replicas.values());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReplicaRoutingContext.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource target : targets) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.exam.project.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV rows as described by RFC 4180.
+ *
+ * <p>
+ * The first record is the header naming the columns. Fields may be quoted,
+ * with {@code ""} standing for a quote, and quoted fields may span lines.
+ * Blank lines are skipped. A field longer than {@value #MAX_FIELD_LENGTH}
+ * characters, usually caused by a missing closing quote, fails its row
+ * instead of buffering the rest of the file, as does a line longer than
+ * {@value LineReader#MAX_LENGTH} characters. The rest of an overlong quoted
+ * field is skipped up to its closing quote, so reading resumes at the next
+ * record.
+ * </p>
+ */
+class CsvRowReader implements RowReader {
+
+    static final int MAX_FIELD_LENGTH = 65536;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final LineReader reader;
+
+    private final String[] header;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private final List<String> fields = new ArrayList<>();
+
+    private long recordLine;
+
+    CsvRowReader(Reader reader) throws IOException {
+        this.reader = new LineReader(reader, LineReader.MAX_LENGTH);
+        List<String> names;
+        try {
+            names = readRecord();
+        } catch (InvalidRowException e) {
+            throw new IOException("Invalid CSV header: " + e.getMessage());
+        }
+        if (names == null) {
+            throw new IOException("CSV file is empty");
+        }
+        if (!names.isEmpty() && !names.get(0).isEmpty() && names.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            names.set(0, names.get(0).substring(1));
+        }
+        this.header = names.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException, InvalidRowException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        if (values.size() != header.length) {
+            throw new InvalidRowException("Expected " + header.length + " fields but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            row.put(header[i], values.get(i));
+        }
+        return row;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException, InvalidRowException {
+        recordLine = reader.lineNumber() + 1;
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        fields.clear();
+        field.setLength(0);
+
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                skipQuotedField();
+                throw new InvalidRowException("Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new InvalidRowException("Unterminated quoted field");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return new ArrayList<>(fields);
+    }
+
+    /**
+     * Reads on to the end of the line that closes the current quoted field,
+     * or to the end of the file, without keeping the skipped text.
+     */
+    private void skipQuotedField() throws IOException, InvalidRowException {
+        boolean quoted = true;
+        while (quoted) {
+            String line = reader.readLine();
+            if (line == null) {
+                return;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                // an escaped quote toggles twice and leaves the field open
+                if (line.charAt(i) == '"') {
+                    quoted = !quoted;
+                }
+            }
+        }
+    }
+}
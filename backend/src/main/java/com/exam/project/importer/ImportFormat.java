@@ -0,0 +1,61 @@
+package com.exam.project.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * File formats accepted by the {@link PostImporter}.
+ */
+public enum ImportFormat {
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV,
+
+    /**
+     * Newline-delimited JSON, one post object per line.
+     */
+    NDJSON;
+
+    RowReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper);
+    }
+
+    /**
+     * Determines the format of an uploaded file.
+     *
+     * @param format      the requested format ({@code csv} or {@code ndjson}), or {@code null}
+     * @param fileName    the original file name, used when no format is requested
+     * @param contentType the content type, used when the file name has no known extension
+     * @return the format
+     * @throws IllegalArgumentException if the format is unknown or cannot be determined
+     */
+    public static ImportFormat detect(String format, String fileName, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown import format: " + format);
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot determine the import format of " + fileName);
+    }
+}
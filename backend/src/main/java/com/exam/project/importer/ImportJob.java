@@ -0,0 +1,166 @@
+package com.exam.project.importer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one post import, serialized as the job status.
+ *
+ * <p>
+ * Counters are updated by the parsing and writing threads while the job
+ * runs. Only the first {@code posts.import.max-errors} row errors are kept;
+ * {@link #getRowsFailed()} counts all of them.
+ * </p>
+ */
+public class ImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * A row that was not imported.
+     *
+     * @param line    line number at which the row starts
+     * @param message why the row was rejected
+     */
+    public record RowError(long line, String message) {
+    }
+
+    private final UUID id = UUID.randomUUID();
+
+    private final String fileName;
+
+    private final ImportFormat format;
+
+    private final int maxErrors;
+
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+
+    private final AtomicLong rowsImported = new AtomicLong();
+
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    private volatile State state = State.QUEUED;
+
+    private volatile Instant startedAt;
+
+    private volatile Instant finishedAt;
+
+    private volatile String failure;
+
+    public ImportJob(String fileName, ImportFormat format, int maxErrors) {
+        this.fileName = fileName;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return why the whole job failed, or {@code null}
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed.get();
+    }
+
+    /**
+     * @return rows imported per second since the job started
+     */
+    public double getRowsPerSecond() {
+        Instant started = startedAt;
+        if (started == null) {
+            return 0;
+        }
+        Instant finished = finishedAt;
+        long millis = Duration.between(started, finished == null ? Instant.now() : finished).toMillis();
+        return rowsImported.get() * 1000.0 / Math.max(millis, 1);
+    }
+
+    public synchronized List<RowError> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    void rowFailed(long line, String message) {
+        rowsFailed.incrementAndGet();
+        synchronized (this) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(String message) {
+        failure = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
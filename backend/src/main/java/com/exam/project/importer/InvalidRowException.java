@@ -0,0 +1,16 @@
+package com.exam.project.importer;
+
+/**
+ * Signals that a single import row cannot be read or is not a valid post.
+ *
+ * <p>
+ * The row is reported in the job's errors and the import continues with the
+ * next row.
+ * </p>
+ */
+public class InvalidRowException extends Exception {
+
+    public InvalidRowException(String message) {
+        super(message);
+    }
+}
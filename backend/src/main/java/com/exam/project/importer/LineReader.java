@@ -0,0 +1,108 @@
+package com.exam.project.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, but holds at
+ * most {@code maxLength} characters of a line in memory.
+ *
+ * <p>
+ * A longer line is skipped up to its end and reported as an
+ * {@link InvalidRowException}, so reading continues with the next line and a
+ * file without line breaks cannot exhaust the heap. Lines end at
+ * {@code \n}, {@code \r} or {@code \r\n}.
+ * </p>
+ */
+class LineReader implements Closeable {
+
+    /**
+     * Default line limit, well above the fields of a post.
+     */
+    static final int MAX_LENGTH = 1 << 20;
+
+    private final Reader reader;
+
+    private final int maxLength;
+
+    private final char[] buffer = new char[8192];
+
+    private final StringBuilder line = new StringBuilder();
+
+    private int position;
+
+    private int limit;
+
+    private boolean skipLineFeed;
+
+    private long lineNumber;
+
+    LineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return the next line without its terminator, or {@code null} at the end of the input
+     * @throws InvalidRowException if the line is longer than {@code maxLength} characters
+     * @throws IOException         if the input cannot be read
+     */
+    String readLine() throws IOException, InvalidRowException {
+        line.setLength(0);
+        boolean started = false;
+        boolean tooLong = false;
+        while (true) {
+            if (position == limit) {
+                limit = Math.max(reader.read(buffer), 0);
+                position = 0;
+                if (limit == 0) {
+                    if (!started) {
+                        return null;
+                    }
+                    break;
+                }
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            started = true;
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            int room = maxLength - line.length();
+            line.append(buffer, start, Math.min(position - start, room));
+            tooLong |= position - start > room;
+
+            if (position < limit) {
+                skipLineFeed = buffer[position++] == '\r';
+                break;
+            }
+        }
+
+        lineNumber++;
+        if (tooLong) {
+            line.setLength(0);
+            throw new InvalidRowException("Line longer than " + maxLength + " characters");
+        }
+        return line.toString();
+    }
+
+    /**
+     * @return number of lines read so far, including skipped ones
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.exam.project.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads newline-delimited JSON rows, one object per line.
+ *
+ * <p>
+ * Blank lines are skipped, and a line longer than
+ * {@value LineReader#MAX_LENGTH} characters fails its row. Values of the
+ * {@link PostRowMapper#COLUMNS} are taken as text so CSV and NDJSON rows are
+ * validated the same way; other properties are ignored.
+ * </p>
+ */
+class NdjsonRowReader implements RowReader {
+
+    private final LineReader reader;
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new LineReader(reader, LineReader.MAX_LENGTH);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException, InvalidRowException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRowException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new InvalidRowException("Expected a JSON object");
+        }
+
+        Map<String, String> row = new HashMap<>();
+        for (String column : PostRowMapper.COLUMNS) {
+            JsonNode value = node.get(column);
+            row.put(column, value == null || value.isNull() ? null : value.asText());
+        }
+        return row;
+    }
+
+    @Override
+    public long line() {
+        return reader.lineNumber();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,328 @@
+package com.exam.project.importer;
+
+import com.exam.project.model.Post;
+import com.exam.project.repository.PostRepository;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.sharding.PostShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports posts in bulk from uploaded CSV or NDJSON files.
+ *
+ * <p>
+ * An upload is spooled to a temporary file and a job is returned right
+ * away. The job parses the file line by line on one of
+ * {@code posts.import.max-concurrent-jobs} threads, validates each row and
+ * hands batches of {@code posts.import.batch-size} posts to
+ * {@code posts.import.writers} writer threads, which insert them with
+ * {@link PostRepository#saveAll} in JDBC batches on the owning shard. At
+ * most two batches per writer are in flight; the parser waits for a free
+ * slot, so memory stays constant however large the file is.
+ * </p>
+ *
+ * <p>
+ * Invalid rows are counted and reported with their line number without
+ * stopping the import. When a batch fails to insert, its posts are retried
+ * one by one so only the offending rows are rejected. Imported posts are not
+ * written to the audit log, which would otherwise be flooded by a single
+ * import. Once a job has inserted posts, the stale fallback of the post
+ * lists and the published feed is dropped so it cannot serve them without
+ * the imported posts. The last {@code posts.import.max-jobs} jobs are kept
+ * in memory.
+ * </p>
+ */
+@Component
+public class PostImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(PostImporter.class);
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final ResilientPostReader postReader;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final int writers;
+
+    private final int maxErrors;
+
+    private final int maxJobs;
+
+    private final ExecutorService jobExecutor;
+
+    private final ExecutorService writerExecutor;
+
+    private final LinkedHashMap<UUID, ImportJob> jobs = new LinkedHashMap<>();
+
+    public PostImporter(PostRepository postRepository,
+                        PostShards postShards,
+                        ResilientPostReader postReader,
+                        ObjectMapper objectMapper,
+                        @Value("${posts.import.batch-size:1000}") int batchSize,
+                        @Value("${posts.import.writers:4}") int writers,
+                        @Value("${posts.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                        @Value("${posts.import.max-errors:1000}") int maxErrors,
+                        @Value("${posts.import.max-jobs:100}") int maxJobs) {
+        this.postRepository = postRepository;
+        this.postShards = postShards;
+        this.postReader = postReader;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.writers = writers;
+        this.maxErrors = maxErrors;
+        this.maxJobs = maxJobs;
+        this.jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, threadFactory("post-import-"));
+        this.writerExecutor = Executors.newFixedThreadPool(writers, threadFactory("post-import-writer-"));
+    }
+
+    /**
+     * Starts importing an uploaded file.
+     *
+     * @param file   the uploaded file
+     * @param format the requested format, or {@code null} to detect it from the file
+     * @return the queued job
+     * @throws IllegalArgumentException if the format is unknown
+     * @throws IOException              if the upload cannot be spooled
+     */
+    public ImportJob start(MultipartFile file, String format) throws IOException {
+        ImportFormat importFormat = ImportFormat.detect(format, file.getOriginalFilename(), file.getContentType());
+        Path spooled = Files.createTempFile("post-import-", "." + importFormat.name().toLowerCase());
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return start(spooled, file.getOriginalFilename(), importFormat);
+    }
+
+    /**
+     * Starts importing a file, deleting it once the job has finished.
+     *
+     * @param file     the file to import
+     * @param fileName the name reported in the job status
+     * @param format   the file format
+     * @return the queued job
+     */
+    public ImportJob start(Path file, String fileName, ImportFormat format) {
+        ImportJob job = new ImportJob(fileName, format, maxErrors);
+        register(job);
+        jobExecutor.execute(() -> run(job, file));
+        return job;
+    }
+
+    /**
+     * @param id the job ID
+     * @return the job, unless unknown or evicted
+     */
+    public Optional<ImportJob> find(UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * @return the retained jobs, oldest first
+     */
+    public List<ImportJob> findAll() {
+        synchronized (jobs) {
+            return List.copyOf(jobs.values());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            // evict the oldest finished jobs; running ones are always kept
+            int excess = jobs.size() - maxJobs;
+            for (Iterator<ImportJob> it = jobs.values().iterator(); excess > 0 && it.hasNext(); ) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.started();
+        int permits = writers * 2;
+        Semaphore inFlight = new Semaphore(permits);
+        boolean drained = false;
+        try (RowReader reader = job.getFormat().open(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                objectMapper)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            while (true) {
+                Map<String, String> values;
+                try {
+                    values = reader.next();
+                } catch (InvalidRowException e) {
+                    job.rowRead();
+                    job.rowFailed(reader.line(), e.getMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                job.rowRead();
+
+                Post post;
+                try {
+                    post = PostRowMapper.toPost(values);
+                } catch (InvalidRowException e) {
+                    job.rowFailed(reader.line(), e.getMessage());
+                    continue;
+                }
+                post.assignId(postShards.nextId());
+                batch.add(new Row(reader.line(), post.getId(), post));
+                if (batch.size() == batchSize) {
+                    submit(job, batch, inFlight);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(job, batch, inFlight);
+            }
+            inFlight.acquire(permits);
+            drained = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delete(file);
+            job.failed("Import interrupted");
+            return;
+        } catch (Exception e) {
+            if (!drained) {
+                // let the batches already handed to the writers finish before reporting the counts
+                inFlight.acquireUninterruptibly(permits);
+            }
+            delete(file);
+            forgetStaleLists(job);
+            job.failed(e.getMessage());
+            log.warn("Import {} of {} failed", job.getId(), job.getFileName(), e);
+            return;
+        }
+        delete(file);
+        forgetStaleLists(job);
+        job.completed();
+        log.info("Imported {} of {} posts from {} in {} ({} rows/s)", job.getRowsImported(), job.getRowsRead(),
+                job.getFileName(), job.getId(), Math.round(job.getRowsPerSecond()));
+    }
+
+    private void forgetStaleLists(ImportJob job) {
+        if (job.getRowsImported() > 0) {
+            postReader.forget(ReadOperation.LIST);
+            postReader.forget(ReadOperation.PUBLISHED);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private void submit(ImportJob job, List<Row> batch, Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            writerExecutor.execute(() -> {
+                try {
+                    write(job, batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void write(ImportJob job, List<Row> batch) {
+        Map<Integer, List<Row>> byShard = new HashMap<>();
+        for (Row row : batch) {
+            byShard.computeIfAbsent(postShards.shardFor(row.id()), shard -> new ArrayList<>()).add(row);
+        }
+        for (List<Row> rows : byShard.values()) {
+            List<Post> posts = rows.stream().map(Row::post).toList();
+            try {
+                postShards.onShardFor(rows.get(0).id(), () -> postRepository.saveAll(posts));
+                job.rowsImported(rows.size());
+            } catch (Exception e) {
+                log.debug("Batch insert of import {} failed, retrying row by row", job.getId(), e);
+                rows.forEach(row -> writeRow(job, row));
+            }
+        }
+    }
+
+    private void writeRow(ImportJob job, Row row) {
+        // undo the ID generated by the rolled back batch so the post is inserted again
+        row.post().assignId(row.id());
+        try {
+            postShards.onShardFor(row.id(), () -> postRepository.save(row.post()));
+            job.rowsImported(1);
+        } catch (Exception e) {
+            job.rowFailed(row.line(), rootMessage(e));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null && e.getCause() != e) {
+            e = e.getCause();
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @param line line number of the row
+     * @param id   the assigned post ID, or 0 when the sequence generates it
+     * @param post the post to insert
+     */
+    private record Row(long line, long id, Post post) {
+    }
+}
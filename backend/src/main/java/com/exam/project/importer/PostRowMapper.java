@@ -0,0 +1,74 @@
+package com.exam.project.importer;
+
+import com.exam.project.model.Post;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates import rows and turns them into new posts.
+ *
+ * <p>
+ * {@code title} is required; {@code description}, {@code published}
+ * ({@code true} or {@code false}, default {@code false}) and the ISO
+ * {@code publishAt} and {@code unpublishAt} times are optional. Text is
+ * limited to the {@value #MAX_TEXT_LENGTH} characters of the columns.
+ * </p>
+ */
+final class PostRowMapper {
+
+    static final List<String> COLUMNS = List.of("title", "description", "published", "publishAt", "unpublishAt");
+
+    static final int MAX_TEXT_LENGTH = 255;
+
+    private PostRowMapper() {
+    }
+
+    static Post toPost(Map<String, String> row) throws InvalidRowException {
+        String title = row.get("title");
+        if (title == null || title.isBlank()) {
+            throw new InvalidRowException("title is required");
+        }
+        Post post = new Post(text("title", title), text("description", blankToNull(row.get("description"))),
+                bool("published", row.get("published")));
+        post.setPublishAt(dateTime("publishAt", row.get("publishAt")));
+        post.setUnpublishAt(dateTime("unpublishAt", row.get("unpublishAt")));
+        return post;
+    }
+
+    private static String text(String column, String value) throws InvalidRowException {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidRowException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static boolean bool(String column, String value) throws InvalidRowException {
+        value = blankToNull(value);
+        if (value == null || value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        throw new InvalidRowException(column + " must be true or false but was '" + value + "'");
+    }
+
+    private static LocalDateTime dateTime(String column, String value) throws InvalidRowException {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidRowException(column + " must be an ISO date-time but was '" + value + "'");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.exam.project.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Streaming reader of import rows, holding only the current row in memory.
+ */
+interface RowReader extends Closeable {
+
+    /**
+     * Reads the next row.
+     *
+     * @return the row's values by column name, or {@code null} at the end of the file
+     * @throws InvalidRowException when the row is malformed; reading can continue with the next row
+     * @throws IOException         when the file cannot be read
+     */
+    Map<String, String> next() throws IOException, InvalidRowException;
+
+    /**
+     * @return the line number at which the last row read starts
+     */
+    long line();
+}
@@ -0,0 +1,270 @@
+package com.exam.project.json;
+
+import com.exam.project.model.Post;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written JSON encoder for {@link Post} entities.
+ *
+ * <p>
+ * Produces the same bytes as the application {@code ObjectMapper}
+ * ({@code id}, {@code title}, {@code description}, {@code published},
+ * {@code publishAt}, {@code unpublishAt}, {@code createdAt}, {@code version},
+ * with ISO dates) without reflection and without allocating per post:
+ * numbers, dates and UTF-8 text are encoded straight into a reused buffer
+ * that is flushed to the target stream whenever it fills up.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe; keep one per thread.
+ * </p>
+ */
+public class PostJsonWriter {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    private static final byte[] NULL = "null".getBytes();
+
+    private static final byte[] TRUE = "true".getBytes();
+
+    private static final byte[] FALSE = "false".getBytes();
+
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private static final byte[] ID = "{\"id\":".getBytes();
+
+    private static final byte[] TITLE = ",\"title\":".getBytes();
+
+    private static final byte[] DESCRIPTION = ",\"description\":".getBytes();
+
+    private static final byte[] PUBLISHED = ",\"published\":".getBytes();
+
+    private static final byte[] PUBLISH_AT = ",\"publishAt\":".getBytes();
+
+    private static final byte[] UNPUBLISH_AT = ",\"unpublishAt\":".getBytes();
+
+    private static final byte[] CREATED_AT = ",\"createdAt\":".getBytes();
+
+    private static final byte[] VERSION = ",\"version\":".getBytes();
+
+    /**
+     * Longest encoding of a single UTF-16 unit ({@code \uD83D}).
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    /**
+     * Longest encoded {@code LocalDateTime} with a four-digit year, quotes included.
+     */
+    private static final int MAX_DATE_BYTES = 31;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private OutputStream out;
+
+    /**
+     * Writes the posts as a JSON array and flushes the buffer to {@code out}.
+     *
+     * @param posts the posts to write
+     * @param out   the stream to write to; it is neither flushed nor closed
+     */
+    public void writeArray(Iterable<Post> posts, OutputStream out) throws IOException {
+        this.out = out;
+        try {
+            writeByte('[');
+            boolean first = true;
+            for (Post post : posts) {
+                if (!first) {
+                    writeByte(',');
+                }
+                writePost(post);
+                first = false;
+            }
+            writeByte(']');
+            flushBuffer();
+        } finally {
+            position = 0;
+            this.out = null;
+        }
+    }
+
+    private void writePost(Post post) throws IOException {
+        writeBytes(ID);
+        writeLong(post.getId());
+        writeBytes(TITLE);
+        writeString(post.getTitle());
+        writeBytes(DESCRIPTION);
+        writeString(post.getDescription());
+        writeBytes(PUBLISHED);
+        writeBytes(post.isPublished() ? TRUE : FALSE);
+        writeBytes(PUBLISH_AT);
+        writeDateTime(post.getPublishAt());
+        writeBytes(UNPUBLISH_AT);
+        writeDateTime(post.getUnpublishAt());
+        writeBytes(CREATED_AT);
+        writeDateTime(post.getCreatedAt());
+        writeBytes(VERSION);
+        writeLong(post.getVersion());
+        writeByte('}');
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (position + MAX_CHAR_BYTES > buffer.length) {
+                flushBuffer();
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAscii(c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes each half of a surrogate pair instead of writing 4-byte UTF-8
+                writeEscape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeAscii(char c) {
+        if (c >= 0x20 && c != '"' && c != '\\') {
+            buffer[position++] = (byte) c;
+            return;
+        }
+        byte escaped = switch (c) {
+            case '"', '\\' -> (byte) c;
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+        if (escaped == 0) {
+            writeEscape(c);
+        } else {
+            buffer[position++] = '\\';
+            buffer[position++] = escaped;
+        }
+    }
+
+    private void writeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[c >> 12];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    /**
+     * Writes {@code yyyy-MM-ddTHH:mm:ss[.fraction]} like
+     * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, dropping trailing zeros
+     * of the fraction.
+     */
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        ensureCapacity(MAX_DATE_BYTES);
+        buffer[position++] = '"';
+        writeDigits(value.getYear(), 4);
+        buffer[position++] = '-';
+        writeDigits(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeDigits(value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        writeDigits(value.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getMinute(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getSecond(), 2);
+
+        int nanos = value.getNano();
+        if (nanos != 0) {
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            writeDigits(nanos, digits);
+        }
+        buffer[position++] = '"';
+    }
+
+    private void writeDigits(int value, int digits) {
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
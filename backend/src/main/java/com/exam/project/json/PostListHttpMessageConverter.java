@@ -0,0 +1,76 @@
+package com.exam.project.json;
+
+import com.exam.project.model.Post;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes {@code List<Post>} responses with a {@link PostJsonWriter}.
+ *
+ * <p>
+ * Each request thread reuses its own writer and buffer, so large lists are
+ * encoded without reflection and without per-post garbage. Only collections
+ * declared with {@link Post} elements are handled; everything else, and all
+ * request bodies, is left to the regular Jackson converter.
+ * </p>
+ */
+public class PostListHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<Post>> {
+
+    private final ThreadLocal<PostJsonWriter> writers = ThreadLocal.withInitial(PostJsonWriter::new);
+
+    public PostListHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // the element type is unknown without the declared type
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPostCollection(type) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Collection<Post> posts, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        writers.get().writeArray(posts, outputMessage.getBody());
+    }
+
+    @Override
+    public Collection<Post> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Post representations are read by Jackson", inputMessage);
+    }
+
+    @Override
+    protected Collection<Post> readInternal(Class<? extends Collection<Post>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Post representations are read by Jackson", inputMessage);
+    }
+
+    private static boolean isPostCollection(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == Post.class;
+    }
+}
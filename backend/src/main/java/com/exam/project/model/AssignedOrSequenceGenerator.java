@@ -0,0 +1,25 @@
+package com.exam.project.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Sequence-based ID generator that keeps an ID already assigned to a
+ * {@link Post}.
+ *
+ * <p>
+ * When posts are sharded, IDs are allocated up front so the owning shard is
+ * known before the insert. Unassigned posts still get their ID from
+ * {@code posts_seq}.
+ * </p>
+ */
+public class AssignedOrSequenceGenerator extends SequenceStyleGenerator {
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    if (object instanceof Post post && post.getId() != 0) {
+      return post.getId();
+    }
+    return super.generate(session, object);
+  }
+}
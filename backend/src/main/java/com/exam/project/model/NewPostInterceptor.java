@@ -0,0 +1,21 @@
+package com.exam.project.model;
+
+import org.hibernate.Interceptor;
+
+/**
+ * Tells Hibernate that a {@link Post} with an {@linkplain Post#assignId
+ * assigned ID} is new.
+ *
+ * <p>
+ * A post with a non-zero ID otherwise counts as detached, and saving it
+ * merges it: a SELECT by ID precedes every INSERT of a sharded or imported
+ * post.
+ * </p>
+ */
+public class NewPostInterceptor implements Interceptor {
+
+  @Override
+  public Boolean isTransient(Object entity) {
+    return entity instanceof Post post && post.isUnsaved() ? Boolean.TRUE : null;
+  }
+}
@@ -1,13 +1,38 @@
 package com.exam.project.model;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at", columnList = "created_at"),
+        @Index(name = "idx_posts_published_created_at", columnList = "published, created_at"),
+        @Index(name = "idx_posts_publish_at", columnList = "publish_at"),
+        @Index(name = "idx_posts_unpublish_at", columnList = "unpublish_at"),
+        @Index(name = "idx_posts_deleted_at", columnList = "deleted_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
+@SQLDelete(sql = "UPDATE posts SET deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND version = ?")
+@Where(clause = "deleted = false")
 public class Post {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(generator = "posts_seq")
+  @GenericGenerator(name = "posts_seq", strategy = "com.exam.project.model.AssignedOrSequenceGenerator",
+          parameters = {
+                  @Parameter(name = "sequence_name", value = "posts_seq"),
+                  @Parameter(name = "increment_size", value = "50")
+          })
   private long id;
 
   @Column(name = "title")
@@ -19,6 +44,37 @@ public class Post {
   @Column(name = "published")
   private boolean published;
 
+  /**
+   * When the post is to be published; cleared once applied.
+   */
+  @Column(name = "publish_at")
+  private LocalDateTime publishAt;
+
+  /**
+   * When the post is to be unpublished; cleared once applied.
+   */
+  @Column(name = "unpublish_at")
+  private LocalDateTime unpublishAt;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @Version
+  @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+  private long version;
+
+  @JsonIgnore
+  @Column(name = "deleted", nullable = false, columnDefinition = "boolean default false")
+  private boolean deleted;
+
+  @JsonIgnore
+  @Column(name = "deleted_at")
+  private LocalDateTime deletedAt;
+
+  @Transient
+  private boolean unsaved;
+
   public Post() {
 
   }
@@ -33,6 +89,25 @@ public class Post {
     return id;
   }
 
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  /**
+   * Assigns the ID of a post that is not stored yet. {@link NewPostInterceptor}
+   * then lets Hibernate insert it right away instead of first selecting a
+   * row with that ID.
+   */
+  public void assignId(long id) {
+    this.id = id;
+    this.unsaved = true;
+  }
+
+  @JsonIgnore
+  public boolean isUnsaved() {
+    return unsaved;
+  }
+
   public String getTitle() {
     return title;
   }
@@ -57,6 +132,38 @@ public class Post {
     this.published = isPublished;
   }
 
+  public LocalDateTime getPublishAt() {
+    return publishAt;
+  }
+
+  public void setPublishAt(LocalDateTime publishAt) {
+    this.publishAt = publishAt;
+  }
+
+  public LocalDateTime getUnpublishAt() {
+    return unpublishAt;
+  }
+
+  public void setUnpublishAt(LocalDateTime unpublishAt) {
+    this.unpublishAt = unpublishAt;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public boolean isDeleted() {
+    return deleted;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
   @Override
   public String toString() {
     return "Tutorial [id=" + id + ", title=" + title + ", desc=" + description + ", published=" + published + "]";
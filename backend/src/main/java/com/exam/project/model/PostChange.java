@@ -0,0 +1,99 @@
+package com.exam.project.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+
+/**
+ * Append-only record of one change made to a {@link Post}.
+ *
+ * <p>
+ * Rows are written asynchronously by
+ * {@link com.exam.project.audit.PostAuditLog} and never updated.
+ * </p>
+ */
+@Entity
+@Table(name = "post_changes", indexes = {
+        @Index(name = "idx_post_changes_post_id_id", columnList = "post_id, id")
+})
+public class PostChange {
+
+  public enum Operation {
+    CREATE, UPDATE, DELETE, DELETE_ALL
+  }
+
+  public static final int MAX_DIFF_LENGTH = 4096;
+
+  public static final int MAX_CHANGED_BY_LENGTH = 255;
+
+  @Id
+  @SequenceGenerator(name = "post_changes_seq", sequenceName = "post_changes_seq", allocationSize = 50)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_changes_seq")
+  private long id;
+
+  /**
+   * The changed post, or {@code null} for {@link Operation#DELETE_ALL}.
+   */
+  @Column(name = "post_id", updatable = false)
+  private Long postId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "operation", nullable = false, updatable = false, length = 16)
+  private Operation operation;
+
+  /**
+   * JSON object mapping each changed field to its {@code [old, new]} values,
+   * or to {@code null} when the values were too long to store.
+   */
+  @JsonRawValue
+  @Column(name = "diff", updatable = false, length = MAX_DIFF_LENGTH)
+  private String diff;
+
+  @Column(name = "changed_by", updatable = false, length = MAX_CHANGED_BY_LENGTH)
+  private String changedBy;
+
+  @Column(name = "changed_at", nullable = false, updatable = false)
+  private LocalDateTime changedAt;
+
+  protected PostChange() {
+
+  }
+
+  public PostChange(Long postId, Operation operation, String diff, String changedBy, LocalDateTime changedAt) {
+    this.postId = postId;
+    this.operation = operation;
+    this.diff = diff;
+    this.changedBy = changedBy;
+    this.changedAt = changedAt;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public Long getPostId() {
+    return postId;
+  }
+
+  public Operation getOperation() {
+    return operation;
+  }
+
+  public String getDiff() {
+    return diff;
+  }
+
+  public String getChangedBy() {
+    return changedBy;
+  }
+
+  public LocalDateTime getChangedAt() {
+    return changedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "PostChange [id=" + id + ", postId=" + postId + ", operation=" + operation + ", changedAt=" + changedAt + "]";
+  }
+}
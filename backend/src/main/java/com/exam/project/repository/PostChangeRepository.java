@@ -0,0 +1,22 @@
+package com.exam.project.repository;
+
+import java.util.List;
+
+import com.exam.project.model.PostChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface PostChangeRepository extends JpaRepository<PostChange, Long> {
+
+  /**
+   * Returns the changes of a post with an ID below {@code before}, newest
+   * first. The {@link Pageable} only limits the result; returning a
+   * {@link List} skips the count query, and seeking by ID keeps every page
+   * an index range scan however deep the history is.
+   */
+  List<PostChange> findByPostIdAndIdLessThanOrderByIdDesc(Long postId, long before, Pageable pageable);
+}
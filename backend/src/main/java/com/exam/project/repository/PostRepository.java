@@ -1,15 +1,46 @@
 package com.exam.project.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.exam.project.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+@Transactional(readOnly = true)
+public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>,
+        PostRepositoryCustom {
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
   List<Post> findByPublished(boolean published);
 
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
   List<Post> findByTitleContainingIgnoreCase(String title);
+
+  /**
+   * Marks every live post as deleted in a single statement. The rows are
+   * physically removed later by {@link PostRepositoryCustom#purgeDeleted}.
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update versioned Post p set p.deleted = true, p.deletedAt = :deletedAt where p.deleted = false")
+  int softDeleteAll(@Param("deletedAt") LocalDateTime deletedAt);
+
+  /**
+   * Whether any post was soft deleted before {@code cutoff}. Served from the
+   * {@code deleted_at} index, so compaction runs with nothing to purge stay
+   * cheap and leave the caches alone.
+   */
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM posts WHERE deleted_at < :cutoff AND deleted = true)",
+          nativeQuery = true)
+  boolean existsDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,81 @@
+package com.exam.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.exam.project.model.Post;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query methods of {@link PostRepository} that are implemented by hand.
+ */
+public interface PostRepositoryCustom {
+
+  /**
+   * Scheduled change of the published status of a post.
+   */
+  enum DueTransition {
+    /**
+     * Unpublication due before a pending publication, applied ahead of it.
+     */
+    UNPUBLISH_BEFORE_PUBLISH,
+    PUBLISH,
+    UNPUBLISH
+  }
+
+  /**
+   * Post changed by {@link #applyDue}, with the values it had before.
+   *
+   * @param id          the ID of the post
+   * @param published   the published status before the change
+   * @param scheduledAt the {@code publishAt} or {@code unpublishAt} time that was cleared
+   */
+  record DueChange(Long id, boolean published, LocalDateTime scheduledAt) {
+  }
+
+  /**
+   * Runs a single filtered, sorted and limited query, without the count
+   * query that a {@link org.springframework.data.domain.Page} would add.
+   *
+   * @param spec   the filter
+   * @param sort   the order of the rows
+   * @param offset number of rows to skip
+   * @param limit  maximum number of rows to return
+   * @return the matching rows
+   */
+  List<Post> findSlice(Specification<Post> spec, Sort sort, long offset, int limit);
+
+  /**
+   * Physically removes up to {@code batchSize} posts that were soft deleted
+   * before {@code cutoff}.
+   *
+   * <p>
+   * The statement is declared to touch only the {@link Post} table, so
+   * Hibernate invalidates the {@code posts} cache region and the queries on
+   * posts rather than every second-level and query cache region.
+   * </p>
+   *
+   * @param cutoff    deletion time before which posts are removed
+   * @param batchSize maximum number of rows to remove
+   * @return number of rows removed
+   */
+  int purgeDeleted(LocalDateTime cutoff, int batchSize);
+
+  /**
+   * Applies one batch of a due transition and clears its scheduled time.
+   *
+   * <p>
+   * The due posts are read earliest first through the {@code publish_at} or
+   * {@code unpublish_at} index and locked for update in the same read-write
+   * transaction as the update, so they are read on the primary and a
+   * concurrent run on the same database waits for this one to commit.
+   * </p>
+   *
+   * @param transition the transition to apply
+   * @param now        time up to which transitions are due
+   * @param limit      maximum number of posts to change
+   * @return the changed posts with their previous values
+   */
+  List<DueChange> applyDue(DueTransition transition, LocalDateTime now, int limit);
+}
@@ -0,0 +1,103 @@
+package com.exam.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.exam.project.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+  private static final String PURGE_DELETED = "DELETE FROM posts WHERE id IN "
+          + "(SELECT id FROM posts WHERE deleted = true AND deleted_at < :cutoff ORDER BY id LIMIT :batchSize)";
+
+  private static final String FIND_DUE_TO_PUBLISH =
+          "select p.id, p.published, p.publishAt from Post p where p.publishAt <= :now order by p.publishAt";
+
+  private static final String FIND_DUE_TO_UNPUBLISH =
+          "select p.id, p.published, p.unpublishAt from Post p where p.unpublishAt <= :now order by p.unpublishAt";
+
+  private static final String FIND_DUE_TO_UNPUBLISH_BEFORE_PUBLISH = "select p.id, p.published, p.unpublishAt "
+          + "from Post p where p.unpublishAt <= :now and p.unpublishAt < p.publishAt order by p.unpublishAt";
+
+  private static final String PUBLISH = "update versioned Post p set p.published = true, p.publishAt = null "
+          + "where p.id in :ids and p.publishAt <= :now and p.deleted = false";
+
+  private static final String UNPUBLISH = "update versioned Post p set p.published = false, p.unpublishAt = null "
+          + "where p.id in :ids and p.unpublishAt <= :now and p.deleted = false";
+
+  private final EntityManager entityManager;
+
+  PostRepositoryCustomImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<Post> findSlice(Specification<Post> spec, Sort sort, long offset, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Post> query = cb.createQuery(Post.class);
+    Root<Post> root = query.from(Post.class);
+
+    query.select(root);
+    Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+    return entityManager.createQuery(query)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultList();
+  }
+
+  @Override
+  @Transactional
+  public int purgeDeleted(LocalDateTime cutoff, int batchSize) {
+    return entityManager.createNativeQuery(PURGE_DELETED)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Post.class)
+            .setParameter("cutoff", cutoff)
+            .setParameter("batchSize", batchSize)
+            .executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public List<DueChange> applyDue(DueTransition transition, LocalDateTime now, int limit) {
+    String findDue = switch (transition) {
+      case UNPUBLISH_BEFORE_PUBLISH -> FIND_DUE_TO_UNPUBLISH_BEFORE_PUBLISH;
+      case PUBLISH -> FIND_DUE_TO_PUBLISH;
+      case UNPUBLISH -> FIND_DUE_TO_UNPUBLISH;
+    };
+    List<DueChange> due = entityManager.createQuery(findDue, Object[].class)
+            .setParameter("now", now)
+            .setMaxResults(limit)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList().stream()
+            .map(row -> new DueChange((Long) row[0], (Boolean) row[1], (LocalDateTime) row[2]))
+            .toList();
+    if (due.isEmpty()) {
+      return due;
+    }
+
+    // the locked rows are still due, so every one of them is updated
+    entityManager.createQuery(transition == DueTransition.PUBLISH ? PUBLISH : UNPUBLISH)
+            .setParameter("ids", due.stream().map(DueChange::id).toList())
+            .setParameter("now", now)
+            .executeUpdate();
+    entityManager.clear();
+    return due;
+  }
+}
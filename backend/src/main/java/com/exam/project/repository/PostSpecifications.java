@@ -0,0 +1,67 @@
+package com.exam.project.repository;
+
+import java.time.LocalDateTime;
+
+import com.exam.project.model.Post;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable filters for {@link PostRepository} queries.
+ *
+ * <p>
+ * Each factory returns {@code null} when its argument is {@code null}, so
+ * unset filters drop out when combined with {@link Specification#allOf}.
+ * </p>
+ */
+public final class PostSpecifications {
+
+  private static final char ESCAPE = '\\';
+
+  private PostSpecifications() {
+  }
+
+  /**
+   * Posts whose title contains the given text, ignoring case.
+   */
+  public static Specification<Post> titleContains(String title) {
+    if (title == null) {
+      return null;
+    }
+    String pattern = "%" + escape(title.toLowerCase()) + "%";
+    return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, ESCAPE);
+  }
+
+  /**
+   * Posts with the given published status.
+   */
+  public static Specification<Post> publishedIs(Boolean published) {
+    if (published == null) {
+      return null;
+    }
+    return (root, query, cb) -> cb.equal(root.get("published"), published);
+  }
+
+  /**
+   * Posts created at or after {@code from}.
+   */
+  public static Specification<Post> createdFrom(LocalDateTime from) {
+    if (from == null) {
+      return null;
+    }
+    return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+  }
+
+  /**
+   * Posts created before {@code to}.
+   */
+  public static Specification<Post> createdBefore(LocalDateTime to) {
+    if (to == null) {
+      return null;
+    }
+    return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+  }
+
+  private static String escape(String text) {
+    return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
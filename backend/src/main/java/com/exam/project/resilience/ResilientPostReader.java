@@ -0,0 +1,226 @@
+package com.exam.project.resilience;
+
+import com.exam.project.datasource.ReplicaRoutingContext;
+import com.exam.project.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs read queries against {@link PostRepository} with a timeout, behind a
+ * {@link CircuitBreaker} per {@link ReadOperation}, falling back to the last
+ * known good result.
+ *
+ * <p>
+ * Each successful read is remembered per operation and argument. When a
+ * query fails, exceeds its timeout or its breaker is open, the remembered
+ * result is returned flagged as stale instead. A query that timed out keeps
+ * running in the background and refreshes the remembered result when it
+ * completes (stale-while-revalidate). Slow list queries therefore cannot
+ * open the breaker of single-post reads.
+ * </p>
+ *
+ * <p>
+ * The remembered results hold at most {@code posts.resilience.max-stale-rows}
+ * rows in total, a list counting one row per element; the least recently
+ * used results are dropped first, and a result larger than the whole budget
+ * is not remembered.
+ * </p>
+ */
+@Component
+public class ResilientPostReader {
+
+    /**
+     * Read operations with their own timeout.
+     */
+    public enum ReadOperation { LIST, PUBLISHED, BY_ID }
+
+    /**
+     * Outcome of a resilient read.
+     *
+     * @param value the query result
+     * @param stale {@code true} if the value is a fallback from an earlier read
+     */
+    public record Result<T>(T value, boolean stale) {
+    }
+
+    private final Map<ReadOperation, Duration> timeouts = new EnumMap<>(ReadOperation.class);
+
+    private final Map<ReadOperation, CircuitBreaker> circuitBreakers = new EnumMap<>(ReadOperation.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final int maxStaleRows;
+
+    private final LinkedHashMap<Key, Remembered> lastGood = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int staleRows;
+
+    public ResilientPostReader(@Value("${posts.resilience.timeout.list:2s}") Duration listTimeout,
+                               @Value("${posts.resilience.timeout.published:2s}") Duration publishedTimeout,
+                               @Value("${posts.resilience.timeout.by-id:500ms}") Duration byIdTimeout,
+                               @Value("${posts.resilience.failure-threshold:5}") int failureThreshold,
+                               @Value("${posts.resilience.open-duration:30s}") Duration openDuration,
+                               @Value("${posts.resilience.max-stale-rows:10000}") int maxStaleRows,
+                               @Value("${posts.resilience.pool-size:16}") int poolSize) {
+        timeouts.put(ReadOperation.LIST, listTimeout);
+        timeouts.put(ReadOperation.PUBLISHED, publishedTimeout);
+        timeouts.put(ReadOperation.BY_ID, byIdTimeout);
+        for (ReadOperation operation : ReadOperation.values()) {
+            circuitBreakers.put(operation, new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()));
+        }
+        this.maxStaleRows = maxStaleRows;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "post-reader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Executes a read query.
+     *
+     * @param operation the kind of read, selecting the timeout and circuit breaker
+     * @param argument  the query argument, part of the fallback key (may be {@code null})
+     * @param query     the repository call
+     * @return the fresh result, or the last known good result flagged as stale
+     * @throws IllegalStateException if the query failed and no earlier result is known
+     */
+    public <T> Result<T> read(ReadOperation operation, Object argument, Supplier<T> query) {
+        Key key = new Key(operation, argument);
+        CircuitBreaker circuitBreaker = circuitBreakers.get(operation);
+
+        if (!circuitBreaker.tryAcquire()) {
+            return fallback(key, null);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(ReplicaRoutingContext.propagate(query), executor);
+        } catch (RejectedExecutionException e) {
+            // a saturated pool is load, not a database failure
+            circuitBreaker.onAbandoned();
+            return fallback(key, e);
+        }
+        future.thenAccept(value -> remember(key, value));
+
+        try {
+            T value = future.get(timeouts.get(operation).toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            remember(key, value);
+            return new Result<>(value, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onAbandoned();
+            return fallback(key, e);
+        } catch (ExecutionException | TimeoutException e) {
+            circuitBreaker.onFailure();
+            return fallback(key, e);
+        }
+    }
+
+    /**
+     * Forgets the remembered result of one read, e.g. after the post was deleted.
+     *
+     * @param operation the kind of read
+     * @param argument  the query argument
+     */
+    public synchronized void forget(ReadOperation operation, Object argument) {
+        Remembered removed = lastGood.remove(new Key(operation, argument));
+        if (removed != null) {
+            staleRows -= removed.rows();
+        }
+    }
+
+    /**
+     * Forgets the remembered results of every read of one kind, e.g. all
+     * pages of the published feed after posts were published.
+     *
+     * @param operation the kind of read
+     */
+    public synchronized void forget(ReadOperation operation) {
+        Iterator<Map.Entry<Key, Remembered>> entries = lastGood.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Key, Remembered> entry = entries.next();
+            if (entry.getKey().operation() == operation) {
+                staleRows -= entry.getValue().rows();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets every remembered result, e.g. after all posts were deleted.
+     */
+    public synchronized void clear() {
+        lastGood.clear();
+        staleRows = 0;
+    }
+
+    /**
+     * @param operation the kind of read
+     * @return the state of the circuit breaker guarding that kind of read
+     */
+    public CircuitBreaker.State getCircuitState(ReadOperation operation) {
+        return circuitBreakers.get(operation).getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void remember(Key key, Object value) {
+        int rows = value instanceof Collection<?> collection ? Math.max(collection.size(), 1) : 1;
+        Remembered previous = lastGood.remove(key);
+        if (previous != null) {
+            staleRows -= previous.rows();
+        }
+        if (rows > maxStaleRows) {
+            return;
+        }
+
+        lastGood.put(key, new Remembered(value, rows));
+        staleRows += rows;
+        Iterator<Remembered> eldest = lastGood.values().iterator();
+        while (staleRows > maxStaleRows && eldest.hasNext()) {
+            staleRows -= eldest.next().rows();
+            eldest.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> Result<T> fallback(Key key, Exception cause) {
+        Remembered remembered = lastGood.get(key);
+        if (remembered == null) {
+            throw new IllegalStateException("Post read failed and no earlier result is available", cause);
+        }
+        return new Result<>((T) remembered.value(), true);
+    }
+
+    private record Key(ReadOperation operation, Object argument) {
+    }
+
+    private record Remembered(Object value, int rows) {
+    }
+}
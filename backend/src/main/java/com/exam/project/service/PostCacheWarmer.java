@@ -0,0 +1,118 @@
+package com.exam.project.service;
+
+import com.exam.project.cache.CachedPostHttpMessageConverter;
+import com.exam.project.cache.PostAccessLog;
+import com.exam.project.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Preloads the post caches before the application reports itself ready.
+ *
+ * <p>
+ * Spring Boot switches the readiness state to {@code ACCEPTING_TRAFFIC} only
+ * after all {@link ApplicationRunner}s have returned, so the
+ * {@code /actuator/health/readiness} probe keeps failing until this warm-up
+ * is done and traffic is not routed to a cold instance.
+ * </p>
+ *
+ * <p>
+ * The first page of the published feed is read first, followed by the most
+ * recently accessed posts recorded in the {@link PostAccessLog}. Reads go
+ * through {@link PostService}, filling the second-level and query caches as
+ * well as the stale fallback. The recently accessed posts are also serialized
+ * into the pre-serialized JSON cache when it is enabled. Warm-up stops early
+ * once {@code posts.warmup.timeout} has elapsed so a slow database cannot
+ * hold back readiness indefinitely.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "posts.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class PostCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCacheWarmer.class);
+
+    private final PostService postService;
+
+    private final PostAccessLog postAccessLog;
+
+    private final CachedPostHttpMessageConverter cachedPostConverter;
+
+    private final int maxPosts;
+
+    private final Duration timeout;
+
+    public PostCacheWarmer(PostService postService,
+                           PostAccessLog postAccessLog,
+                           ObjectProvider<CachedPostHttpMessageConverter> cachedPostConverter,
+                           @Value("${posts.warmup.max-posts:500}") int maxPosts,
+                           @Value("${posts.warmup.timeout:PT30S}") Duration timeout) {
+        this.postService = postService;
+        this.postAccessLog = postAccessLog;
+        this.cachedPostConverter = cachedPostConverter.getIfAvailable();
+        this.maxPosts = maxPosts;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Loads the first page of the published feed and up to
+     * {@code posts.warmup.max-posts} recently accessed posts.
+     *
+     * @return number of single posts loaded
+     */
+    public int warmUp() {
+        long started = System.nanoTime();
+        long deadline = started + timeout.toNanos();
+
+        ResponseEntity<List<Post>> published = postService.findByPublished(0, PostQuery.MAX_SIZE);
+        int feedSize = published.hasBody() ? published.getBody().size() : 0;
+
+        List<Long> ids = postAccessLog.recent();
+        ids = ids.subList(0, Math.min(ids.size(), maxPosts));
+
+        int loaded = 0;
+        // oldest first, so reading them again keeps the access log in its original order
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("Cache warm-up timed out after {} of {} posts", loaded, ids.size());
+                break;
+            }
+            ResponseEntity<Post> post = postService.getPostById(ids.get(i));
+            if (post.getStatusCode().is2xxSuccessful()) {
+                preload(post.getBody());
+                loaded++;
+            }
+        }
+
+        log.info("Cache warm-up loaded {} published and {} recently accessed posts in {} ms",
+                feedSize, loaded, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return loaded;
+    }
+
+    private void preload(Post post) {
+        if (cachedPostConverter == null || post == null) {
+            return;
+        }
+        try {
+            cachedPostConverter.preload(post);
+        } catch (IOException e) {
+            log.debug("Could not preload the JSON of post {}", post.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.exam.project.service;
+
+import com.exam.project.model.Post;
+import com.exam.project.repository.PostRepository;
+import com.exam.project.sharding.PostShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background job that physically removes soft-deleted {@link Post} rows.
+ *
+ * <p>
+ * Deletes issued through {@link PostService} only mark rows as deleted.
+ * This compactor purges those tombstones in small batches, each in its own
+ * transaction, so locks are held briefly. A run is skipped while the system
+ * load per processor is above {@code posts.compaction.max-load}.
+ * </p>
+ */
+@Component
+public class PostCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCompactor.class);
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final Duration retention;
+
+    private final double maxLoad;
+
+    public PostCompactor(PostRepository postRepository,
+                         PostShards postShards,
+                         @Value("${posts.compaction.batch-size:500}") int batchSize,
+                         @Value("${posts.compaction.max-batches:20}") int maxBatches,
+                         @Value("${posts.compaction.retention:PT1M}") Duration retention,
+                         @Value("${posts.compaction.max-load:0.75}") double maxLoad) {
+        this.postRepository = postRepository;
+        this.postShards = postShards;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.retention = retention;
+        this.maxLoad = maxLoad;
+    }
+
+    /**
+     * Purges up to {@code max-batches} batches of tombstones older than the
+     * retention period on every shard.
+     *
+     * @return number of rows physically removed
+     */
+    @Scheduled(fixedDelayString = "${posts.compaction.interval:PT1M}",
+            initialDelayString = "${posts.compaction.interval:PT1M}")
+    public int compact() {
+        if (isBusy()) {
+            return 0;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int purged = postShards.onEveryShard(() -> compactShard(cutoff)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted posts", purged);
+        }
+        return purged;
+    }
+
+    private int compactShard(LocalDateTime cutoff) {
+        // every purge invalidates the post caches, so only purge when there is something to remove
+        if (!postRepository.existsDeletedBefore(cutoff)) {
+            return 0;
+        }
+        int purged = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int removed = postRepository.purgeDeleted(cutoff, batchSize);
+            purged += removed;
+            if (removed < batchSize || isBusy()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean isBusy() {
+        double load = os.getSystemLoadAverage();
+        return load >= 0 && load / os.getAvailableProcessors() > maxLoad;
+    }
+}
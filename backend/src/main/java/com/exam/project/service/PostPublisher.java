@@ -0,0 +1,143 @@
+package com.exam.project.service;
+
+import com.exam.project.audit.PostAuditLog;
+import com.exam.project.cache.PostJsonCache;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostRepository;
+import com.exam.project.repository.PostRepositoryCustom.DueChange;
+import com.exam.project.repository.PostRepositoryCustom.DueTransition;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.sharding.PostShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job that applies scheduled publications and unpublications.
+ *
+ * <p>
+ * Posts carry optional {@code publishAt} and {@code unpublishAt} times. On
+ * every run the due transitions are looked up through the indexes on those
+ * columns, so only due rows are read however many transitions are
+ * scheduled. They are applied with one versioned bulk update per batch of
+ * {@code posts.publishing.batch-size} IDs, and the applied time is cleared.
+ * Each batch is read, locked and updated in one transaction on the primary,
+ * so only posts that actually changed are counted. When both transitions of
+ * a post are due, they are applied in their scheduled order.
+ * </p>
+ *
+ * <p>
+ * Afterwards the stale fallback of the published feed and of the changed
+ * posts is dropped and the changes are recorded in the audit log, with the
+ * same fields as {@link PostAuditLog#diff}. The Hibernate query cache is
+ * invalidated by the bulk update itself.
+ * </p>
+ */
+@Component
+public class PostPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(PostPublisher.class);
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final ResilientPostReader postReader;
+
+    private final PostJsonCache postJsonCache;
+
+    private final PostAuditLog postAuditLog;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    public PostPublisher(PostRepository postRepository,
+                         PostShards postShards,
+                         ResilientPostReader postReader,
+                         PostJsonCache postJsonCache,
+                         PostAuditLog postAuditLog,
+                         @Value("${posts.publishing.batch-size:500}") int batchSize,
+                         @Value("${posts.publishing.max-batches:20}") int maxBatches) {
+        this.postRepository = postRepository;
+        this.postShards = postShards;
+        this.postReader = postReader;
+        this.postJsonCache = postJsonCache;
+        this.postAuditLog = postAuditLog;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Applies the transitions that are due on every shard, up to
+     * {@code max-batches} batches of each kind per shard.
+     *
+     * @return number of posts published or unpublished
+     */
+    @Scheduled(fixedDelayString = "${posts.publishing.interval:PT1S}")
+    public int applyDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Transitions> applied = postShards.onEveryShard(() -> applyOnShard(now));
+
+        int count = 0;
+        for (Transitions transitions : applied) {
+            invalidate(transitions.published(), true, "publishAt");
+            invalidate(transitions.unpublished(), false, "unpublishAt");
+            count += transitions.published().size() + transitions.unpublished().size();
+        }
+
+        if (count > 0) {
+            postReader.forget(ReadOperation.PUBLISHED);
+            log.info("Applied {} scheduled publishing transitions", count);
+        }
+        return count;
+    }
+
+    private Transitions applyOnShard(LocalDateTime now) {
+        List<DueChange> published = new ArrayList<>();
+        List<DueChange> unpublished = new ArrayList<>();
+
+        // unpublications scheduled before a due publication go first, the rest after it
+        apply(DueTransition.UNPUBLISH_BEFORE_PUBLISH, now, unpublished);
+        apply(DueTransition.PUBLISH, now, published);
+        apply(DueTransition.UNPUBLISH, now, unpublished);
+
+        return new Transitions(published, unpublished);
+    }
+
+    private void apply(DueTransition transition, LocalDateTime now, List<DueChange> applied) {
+        for (int i = 0; i < maxBatches; i++) {
+            List<DueChange> changes = postRepository.applyDue(transition, now, batchSize);
+            applied.addAll(changes);
+            if (changes.size() < batchSize) {
+                break;
+            }
+        }
+    }
+
+    private void invalidate(List<DueChange> changes, boolean published, String scheduledField) {
+        for (DueChange change : changes) {
+            postJsonCache.evict(change.id());
+            postReader.forget(ReadOperation.BY_ID, change.id());
+
+            Map<String, Object[]> diff = new LinkedHashMap<>();
+            if (change.published() != published) {
+                diff.put("published", new Object[]{change.published(), published});
+            }
+            diff.put(scheduledField, new Object[]{change.scheduledAt(), null});
+            postAuditLog.record(change.id(), Operation.UPDATE, diff);
+        }
+    }
+
+    private record Transitions(List<DueChange> published, List<DueChange> unpublished) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.exam.project.service;
+
+import com.exam.project.model.Post;
+import com.exam.project.repository.PostSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Combined filter, sort and page request for {@link PostService#queryPosts}.
+ *
+ * @param title     text the title must contain, ignoring case (optional)
+ * @param published required published status (optional)
+ * @param from      earliest creation time, inclusive (optional)
+ * @param to        latest creation time, exclusive (optional)
+ * @param sort      {@code property} or {@code property,asc|desc}; one of
+ *                  {@code id}, {@code title}, {@code createdAt}, {@code published}
+ * @param page      zero-based page number; the page may start at most
+ *                  {@value #MAX_OFFSET} posts in
+ * @param size      page size, between 1 and {@value #MAX_SIZE}
+ * @param count     whether to also count all matching posts
+ */
+public record PostQuery(String title, Boolean published, LocalDateTime from, LocalDateTime to,
+                        String sort, int page, int size, boolean count) {
+
+    public static final int MAX_SIZE = 500;
+
+    /**
+     * Deepest offset a page may start at. Every shard loads all rows up to
+     * the end of the page, so deeper pages are narrowed with filters instead.
+     */
+    public static final int MAX_OFFSET = 10_000;
+
+    private static final Map<String, Function<Post, ? extends Comparable<?>>> SORTABLE = Map.of(
+            "id", Post::getId,
+            "title", Post::getTitle,
+            "createdAt", Post::getCreatedAt,
+            "published", Post::isPublished
+    );
+
+    public PostQuery {
+        if (title != null && title.isBlank()) {
+            title = null;
+        }
+        if (sort == null || sort.isBlank()) {
+            sort = "id";
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the page, size or sort is invalid
+     */
+    public void validate() {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        if (offset() > MAX_OFFSET) {
+            throw new IllegalArgumentException("page * size must not exceed " + MAX_OFFSET);
+        }
+        toSort();
+    }
+
+    /**
+     * @return all filters combined; unset filters are left out
+     */
+    public Specification<Post> toSpecification() {
+        return Specification.allOf(
+                PostSpecifications.titleContains(title),
+                PostSpecifications.publishedIs(published),
+                PostSpecifications.createdFrom(from),
+                PostSpecifications.createdBefore(to));
+    }
+
+    /**
+     * @return the requested order, with the ID as tie-breaker for stable pages
+     */
+    public Sort toSort() {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE.containsKey(property)) {
+            throw new IllegalArgumentException("Cannot sort by " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+
+        Sort order = Sort.by(direction, property);
+        return "id".equals(property) ? order : order.and(Sort.by("id"));
+    }
+
+    /**
+     * @return a comparator matching {@link #toSort()}, sorting {@code null}
+     * values the way H2 does (lowest)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<Post> toComparator() {
+        Comparator<Post> comparator = null;
+        for (Sort.Order order : toSort()) {
+            Function<Post, Comparable> key = (Function) SORTABLE.get(order.getProperty());
+            Comparator<Post> next = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    /**
+     * @return the number of posts skipped before this page
+     */
+    public long offset() {
+        return (long) page * size;
+    }
+}
@@ -1,6 +1,7 @@
 package com.exam.project.service;
 
 import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -9,7 +10,7 @@ import java.util.List;
 
 public interface PostService {
 
-    public ResponseEntity<List<Post>> getAllPosts(String title) ;
+    public ResponseEntity<List<Post>> getAllPosts(String title, int page, int size);
 
     public ResponseEntity<Post> getPostById(long id);
 
@@ -21,5 +22,9 @@ public interface PostService {
 
     public ResponseEntity<HttpStatus> deleteAllPosts();
 
-    public ResponseEntity<List<Post>> findByPublished();
+    public ResponseEntity<List<Post>> findByPublished(int page, int size);
+
+    public ResponseEntity<List<Post>> queryPosts(PostQuery query);
+
+    public ResponseEntity<List<PostChange>> getPostHistory(long id, Long before, int size);
 }
@@ -1,14 +1,32 @@
 package com.exam.project.service;
 
+import com.exam.project.audit.PostAuditLog;
+import com.exam.project.cache.PostAccessLog;
+import com.exam.project.cache.PostJsonCache;
+import com.exam.project.datasource.ReplicaRoutingContext;
 import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostChangeRepository;
 import com.exam.project.repository.PostRepository;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.sharding.PostShards;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Implementation of {@link PostService}.
@@ -23,56 +41,118 @@ import java.util.Optional;
  * All methods return {@link ResponseEntity} to properly handle HTTP
  * responses and status codes.
  * </p>
+ *
+ * <p>
+ * Reads go through {@link ResilientPostReader}. When the database is slow or
+ * failing they are answered with the last known good result and the
+ * {@value #STALE_HEADER} response header set to {@code true}.
+ * </p>
+ *
+ * <p>
+ * Storage access goes through {@link PostShards}: single-post operations run
+ * on the shard owning the ID, list queries are gathered from every shard and
+ * merged in the requested order.
+ * </p>
+ *
+ * <p>
+ * Writes are recorded in the change log through {@link PostAuditLog}, which
+ * stores them asynchronously off the request path.
+ * </p>
  */
 @Service
 public class PostServiceImpl implements PostService {
 
+    /**
+     * Response header flagging a result served from the stale fallback.
+     */
+    public static final String STALE_HEADER = "X-Stale-Response";
+
+    /**
+     * Response header carrying the number of posts matching a query.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * Response header carrying the {@code before} cursor of the next history page.
+     */
+    public static final String NEXT_BEFORE_HEADER = "X-Next-Before";
+
+    /**
+     * Largest page of history entries returned at once.
+     */
+    public static final int MAX_HISTORY_SIZE = 100;
+
     private final PostRepository postRepository;
 
+    private final PostJsonCache postJsonCache;
+
+    private final ResilientPostReader postReader;
+
+    private final PostShards postShards;
+
+    private final PostAccessLog postAccessLog;
+
+    private final PostAuditLog postAuditLog;
+
+    private final PostChangeRepository postChangeRepository;
+
+    private final Executor queryExecutor;
+
     /**
      * Constructor-based dependency injection for {@link PostRepository}.
      *
-     * @param postRepository repository used to access Post data from the database
+     * @param postRepository       repository used to access Post data from the database
+     * @param postJsonCache        cache of pre-serialized post representations
+     * @param postReader           guards reads with timeouts and a stale fallback
+     * @param postShards           routes storage access to the owning shards
+     * @param postAccessLog        records recently read posts for the startup warm-up
+     * @param postAuditLog         records changes asynchronously
+     * @param postChangeRepository repository used to read the change log
+     * @param queryExecutor        runs count queries alongside page queries
      */
-    public PostServiceImpl(PostRepository postRepository) {
+    public PostServiceImpl(PostRepository postRepository, PostJsonCache postJsonCache,
+                           ResilientPostReader postReader, PostShards postShards,
+                           PostAccessLog postAccessLog, PostAuditLog postAuditLog,
+                           PostChangeRepository postChangeRepository,
+                           @Qualifier("applicationTaskExecutor") Executor queryExecutor) {
         this.postRepository = postRepository;
+        this.postJsonCache = postJsonCache;
+        this.postReader = postReader;
+        this.postShards = postShards;
+        this.postAccessLog = postAccessLog;
+        this.postAuditLog = postAuditLog;
+        this.postChangeRepository = postChangeRepository;
+        this.queryExecutor = queryExecutor;
     }
 
     /**
-     * Retrieves all posts or filters posts by title.
+     * Retrieves one page of all posts, or of the posts whose title matches.
      *
      * <p>
      * If the title is {@code null}, all posts are returned.
      * Otherwise, posts containing the given title (case-insensitive) are returned.
      * </p>
      *
+     * <p>
+     * Posts are ordered by ID. Each shard returns at most the rows up to the
+     * end of the page and the merge cuts the page out, so no request loads
+     * more than {@value PostQuery#MAX_OFFSET} plus one page of rows per shard.
+     * </p>
+     *
      * @param title title to search for (optional)
+     * @param page  zero-based page number
+     * @param size  page size, up to {@value PostQuery#MAX_SIZE}
      * @return {@link ResponseEntity} containing a list of posts and HTTP status:
      * <ul>
      *   <li>200 OK – posts found</li>
      *   <li>204 NO_CONTENT – no posts found</li>
+     *   <li>400 BAD_REQUEST – invalid page or size</li>
      *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
      * </ul>
      */
     @Override
-    public ResponseEntity<List<Post>> getAllPosts(String title) {
-        try {
-            List<Post> posts = new ArrayList<>();
-
-            if (title == null) {
-                postRepository.findAll().forEach(posts::add);
-            } else {
-                postRepository.findByTitleContainingIgnoreCase(title).forEach(posts::add);
-            }
-
-            if (posts.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-
-            return new ResponseEntity<>(posts, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<List<Post>> getAllPosts(String title, int page, int size) {
+        return listPosts(ReadOperation.LIST, new PostQuery(title, null, null, null, "id", page, size, false));
     }
 
     /**
@@ -83,22 +163,34 @@ public class PostServiceImpl implements PostService {
      * <ul>
      *   <li>200 OK – post found</li>
      *   <li>404 NOT_FOUND – post not found</li>
+     *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
      * </ul>
      */
     @Override
     public ResponseEntity<Post> getPostById(long id) {
-        Optional<Post> postData = postRepository.findById(id);
+        try {
+            ResilientPostReader.Result<Optional<Post>> result =
+                    postReader.read(ReadOperation.BY_ID, id,
+                            () -> postShards.onShardFor(id, () -> postRepository.findById(id)));
 
-        return postData
-                .map(post -> new ResponseEntity<>(post, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+            return result.value()
+                    .map(post -> {
+                        postAccessLog.record(id);
+                        return new ResponseEntity<>(post, headers(result), HttpStatus.OK);
+                    })
+                    .orElseGet(() -> new ResponseEntity<>(headers(result), HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
     }
 
     /**
      * Creates and saves a new post.
      *
      * <p>
-     * The post is saved with {@code published = false} by default.
+     * The post is saved with {@code published = false} by default. A
+     * {@code publishAt} or {@code unpublishAt} time is applied later by
+     * {@link PostPublisher}.
      * </p>
      *
      * @param post the post data to create
@@ -111,9 +203,13 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<Post> createPost(Post post) {
         try {
-            Post savedPost = postRepository.save(
-                    new Post(post.getTitle(), post.getDescription(), false)
-            );
+            Post newPost = new Post(post.getTitle(), post.getDescription(), false);
+            newPost.setPublishAt(post.getPublishAt());
+            newPost.setUnpublishAt(post.getUnpublishAt());
+            newPost.assignId(postShards.nextId());
+
+            Post savedPost = postShards.onShardFor(newPost.getId(), () -> postRepository.save(newPost));
+            postAuditLog.record(savedPost.getId(), Operation.CREATE, PostAuditLog.diff(null, savedPost));
             return new ResponseEntity<>(savedPost, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -123,6 +219,11 @@ public class PostServiceImpl implements PostService {
     /**
      * Updates an existing post by its ID.
      *
+     * <p>
+     * Runs in a read-write transaction so the post is loaded from the primary
+     * datasource, never from a possibly lagging replica.
+     * </p>
+     *
      * @param id   the ID of the post to update
      * @param post the updated post data
      * @return {@link ResponseEntity} containing the updated post and HTTP status:
@@ -132,16 +233,27 @@ public class PostServiceImpl implements PostService {
      * </ul>
      */
     @Override
+    @Transactional
     public ResponseEntity<Post> updatePosts(long id, Post post) {
+        return postShards.onShardFor(id, () -> updateOnShard(id, post));
+    }
+
+    private ResponseEntity<Post> updateOnShard(long id, Post post) {
         Optional<Post> postData = postRepository.findById(id);
 
         if (postData.isPresent()) {
             Post existingPost = postData.get();
+            Map<String, Object[]> diff = PostAuditLog.diff(existingPost, post);
             existingPost.setTitle(post.getTitle());
             existingPost.setDescription(post.getDescription());
             existingPost.setPublished(post.isPublished());
+            existingPost.setPublishAt(post.getPublishAt());
+            existingPost.setUnpublishAt(post.getUnpublishAt());
 
-            return new ResponseEntity<>(postRepository.save(existingPost), HttpStatus.OK);
+            Post savedPost = postRepository.save(existingPost);
+            postJsonCache.evict(id);
+            postAuditLog.record(id, Operation.UPDATE, diff);
+            return new ResponseEntity<>(savedPost, HttpStatus.OK);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -150,17 +262,34 @@ public class PostServiceImpl implements PostService {
     /**
      * Deletes a post by its ID.
      *
+     * <p>
+     * The post is only marked as deleted; the row is physically removed
+     * later by {@link PostCompactor}. Caches and the change log are only
+     * touched when a live post was actually marked.
+     * </p>
+     *
      * @param id the ID of the post to delete
      * @return {@link ResponseEntity} with HTTP status:
      * <ul>
-     *   <li>204 NO_CONTENT – post deleted successfully</li>
+     *   <li>204 NO_CONTENT – post deleted, or no live post with this ID</li>
      *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
      * </ul>
      */
     @Override
     public ResponseEntity<HttpStatus> deletePost(long id) {
         try {
-            postRepository.deleteById(id);
+            boolean deleted = postShards.onShardFor(id, () -> postRepository.findById(id)
+                    .map(post -> {
+                        postRepository.delete(post);
+                        return true;
+                    })
+                    .orElse(false));
+            if (deleted) {
+                postJsonCache.evict(id);
+                postReader.forget(ReadOperation.BY_ID, id);
+                postAccessLog.forget(id);
+                postAuditLog.record(id, Operation.DELETE, Map.of());
+            }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -170,6 +299,13 @@ public class PostServiceImpl implements PostService {
     /**
      * Deletes all posts from the database.
      *
+     * <p>
+     * All posts are marked as deleted in a single statement per shard; the
+     * rows are physically removed later by {@link PostCompactor}. The
+     * statement still writes every live row, so its cost grows with the
+     * table, but it avoids loading and deleting the posts one by one.
+     * </p>
+     *
      * @return {@link ResponseEntity} with HTTP status:
      * <ul>
      *   <li>204 NO_CONTENT – all posts deleted</li>
@@ -179,7 +315,16 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<HttpStatus> deleteAllPosts() {
         try {
-            postRepository.deleteAll();
+            LocalDateTime deletedAt = LocalDateTime.now();
+            int deleted = postShards.onEveryShard(() -> postRepository.softDeleteAll(deletedAt)).stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+            postJsonCache.clear();
+            postReader.clear();
+            postAccessLog.clear();
+            if (deleted > 0) {
+                postAuditLog.record(null, Operation.DELETE_ALL, Map.of());
+            }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -187,27 +332,162 @@ public class PostServiceImpl implements PostService {
     }
 
     /**
-     * Retrieves all published posts.
+     * Retrieves one page of the published posts, ordered by ID like
+     * {@link #getAllPosts}.
      *
+     * @param page zero-based page number
+     * @param size page size, up to {@value PostQuery#MAX_SIZE}
      * @return {@link ResponseEntity} containing a list of published posts and HTTP status:
      * <ul>
      *   <li>200 OK – published posts found</li>
      *   <li>204 NO_CONTENT – no published posts</li>
+     *   <li>400 BAD_REQUEST – invalid page or size</li>
+     *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
+     * </ul>
+     */
+    @Override
+    public ResponseEntity<List<Post>> findByPublished(int page, int size) {
+        return listPosts(ReadOperation.PUBLISHED, new PostQuery(null, true, null, null, "id", page, size, false));
+    }
+
+    /**
+     * Retrieves one page of posts matching all given filters.
+     *
+     * <p>
+     * Filters, sort and limit are pushed into a single SQL statement per
+     * shard. When a total is requested, the count query runs in parallel with
+     * the page query and is returned in the {@value #TOTAL_COUNT_HEADER}
+     * header.
+     * </p>
+     *
+     * @param query filters, sort and page to retrieve
+     * @return {@link ResponseEntity} containing the page of posts and HTTP status:
+     * <ul>
+     *   <li>200 OK – posts found</li>
+     *   <li>204 NO_CONTENT – no posts on this page</li>
+     *   <li>400 BAD_REQUEST – invalid page, size or sort</li>
      *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
      * </ul>
      */
     @Override
-    public ResponseEntity<List<Post>> findByPublished() {
+    public ResponseEntity<List<Post>> queryPosts(PostQuery query) {
         try {
-            List<Post> posts = postRepository.findByPublished(true);
+            query.validate();
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
 
+        try {
+            Specification<Post> spec = query.toSpecification();
+            // the count keeps the caller's read-your-writes pin on the executor thread
+            CompletableFuture<Long> total = query.count()
+                    ? CompletableFuture.supplyAsync(ReplicaRoutingContext.propagate(() -> countPosts(spec)),
+                            queryExecutor)
+                    : null;
+
+            List<Post> posts = findPage(spec, query);
+
+            HttpHeaders headers = new HttpHeaders();
+            if (total != null) {
+                headers.set(TOTAL_COUNT_HEADER, Long.toString(total.join()));
+            }
             if (posts.isEmpty()) {
+                return new ResponseEntity<>(headers, HttpStatus.NO_CONTENT);
+            }
+            return new ResponseEntity<>(posts, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Retrieves one page of the change history of a post, newest first.
+     *
+     * <p>
+     * Pages are addressed by keyset: pass the {@value #NEXT_BEFORE_HEADER}
+     * header of one page as {@code before} to get the next one. Changes are
+     * written asynchronously, so the latest ones may take a moment to appear.
+     * </p>
+     *
+     * @param id     the ID of the post
+     * @param before only return changes with an ID below this one (optional)
+     * @param size   maximum number of changes to return
+     * @return {@link ResponseEntity} containing the changes and HTTP status:
+     * <ul>
+     *   <li>200 OK – changes found</li>
+     *   <li>204 NO_CONTENT – no (further) changes</li>
+     *   <li>400 BAD_REQUEST – invalid size</li>
+     *   <li>500 INTERNAL_SERVER_ERROR – error occurred</li>
+     * </ul>
+     */
+    @Override
+    public ResponseEntity<List<PostChange>> getPostHistory(long id, Long before, int size) {
+        if (size < 1 || size > MAX_HISTORY_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            List<PostChange> changes = postChangeRepository.findByPostIdAndIdLessThanOrderByIdDesc(
+                    id, before == null ? Long.MAX_VALUE : before, PageRequest.of(0, size));
+
+            if (changes.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(posts, HttpStatus.OK);
+
+            HttpHeaders headers = new HttpHeaders();
+            if (changes.size() == size) {
+                headers.set(NEXT_BEFORE_HEADER, Long.toString(changes.get(changes.size() - 1).getId()));
+            }
+            return new ResponseEntity<>(changes, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private ResponseEntity<List<Post>> listPosts(ReadOperation operation, PostQuery query) {
+        try {
+            query.validate();
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            Specification<Post> spec = query.toSpecification();
+            ResilientPostReader.Result<List<Post>> result =
+                    postReader.read(operation, query, () -> findPage(spec, query));
+            List<Post> posts = result.value();
+
+            if (posts.isEmpty()) {
+                return new ResponseEntity<>(headers(result), HttpStatus.NO_CONTENT);
+            }
+            return new ResponseEntity<>(posts, headers(result), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private List<Post> findPage(Specification<Post> spec, PostQuery query) {
+        if (postShards.getShardCount() == 1) {
+            return postRepository.findSlice(spec, query.toSort(), query.offset(), query.size());
+        }
+        // every shard returns its first offset + size rows; the merge then cuts out the page
+        int perShard = Math.toIntExact(query.offset() + query.size());
+        return postShards.gather(() -> postRepository.findSlice(spec, query.toSort(), 0, perShard),
+                query.toComparator(), Math.toIntExact(query.offset()), query.size());
+    }
+
+    private long countPosts(Specification<Post> spec) {
+        return postShards.onEveryShard(() -> postRepository.count(spec)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    private static HttpHeaders headers(ResilientPostReader.Result<?> result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (result.stale()) {
+            headers.set(STALE_HEADER, "true");
+        }
+        return headers;
+    }
 }
 
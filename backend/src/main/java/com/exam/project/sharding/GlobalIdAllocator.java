@@ -0,0 +1,61 @@
+package com.exam.project.sharding;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Allocates post IDs that are unique across all shards.
+ *
+ * <p>
+ * IDs come from the {@code posts_seq} sequence of shard 0 and are handed out
+ * in blocks, interpreting each sequence value the way Hibernate's pooled
+ * optimizer does (the value is the upper end of a block of
+ * {@code blockSize}). IDs therefore never collide with ones Hibernate
+ * generated before sharding was enabled.
+ * </p>
+ */
+public class GlobalIdAllocator {
+
+    private final DataSource sequenceSource;
+
+    private final int blockSize;
+
+    private long next;
+
+    private long last = -1;
+
+    /**
+     * @param sequenceSource datasource owning {@code posts_seq}
+     * @param blockSize      the sequence increment
+     */
+    public GlobalIdAllocator(DataSource sequenceSource, int blockSize) {
+        this.sequenceSource = sequenceSource;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return the next unique post ID
+     */
+    public synchronized long nextId() {
+        if (next > last) {
+            long hi = nextSequenceValue();
+            next = Math.max(1, hi - blockSize + 1);
+            last = hi;
+        }
+        return next++;
+    }
+
+    private long nextSequenceValue() {
+        try (Connection connection = sequenceSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT NEXT VALUE FOR posts_seq")) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not allocate post IDs", e);
+        }
+    }
+}
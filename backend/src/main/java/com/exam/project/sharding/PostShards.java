@@ -0,0 +1,193 @@
+package com.exam.project.sharding;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Spreads post storage across hash-partitioned shards.
+ *
+ * <p>
+ * Single-post operations run on the shard owning the post ID. Queries over
+ * all posts are sent to every shard in parallel and the partial results are
+ * merged. With a single shard every call runs inline on the caller's thread,
+ * so the unsharded setup pays no overhead.
+ * </p>
+ */
+public class PostShards {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int shardCount;
+
+    private final GlobalIdAllocator idAllocator;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param shardCount  number of shards
+     * @param idAllocator source of globally unique IDs
+     * @param poolSize    threads used for fan-out queries
+     */
+    public PostShards(int shardCount, GlobalIdAllocator idAllocator, int poolSize) {
+        this.shardCount = shardCount;
+        this.idAllocator = idAllocator;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "post-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private PostShards() {
+        this.shardCount = 1;
+        this.idAllocator = null;
+        this.executor = null;
+    }
+
+    /**
+     * @return shards for an unsharded database
+     */
+    public static PostShards single() {
+        return new PostShards();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return a globally unique ID for a new post, or {@code 0} to let
+     * Hibernate generate it when there is a single shard
+     */
+    public long nextId() {
+        return idAllocator == null ? 0 : idAllocator.nextId();
+    }
+
+    /**
+     * @param id a post ID
+     * @return the index of the shard owning the post
+     */
+    public int shardFor(long id) {
+        return Math.floorMod(Long.hashCode(id * GOLDEN_RATIO), shardCount);
+    }
+
+    /**
+     * Runs a task on the shard owning a post.
+     *
+     * @param id   the post ID
+     * @param task the database work
+     * @return the task's result
+     */
+    public <T> T onShardFor(long id, Supplier<T> task) {
+        if (shardCount == 1) {
+            return task.get();
+        }
+        return ShardContext.callOn(shardFor(id), task);
+    }
+
+    /**
+     * Runs a task on every shard in parallel.
+     *
+     * @param task the database work
+     * @return the results, indexed by shard
+     */
+    public <T> List<T> onEveryShard(Supplier<T> task) {
+        if (shardCount == 1) {
+            return Collections.singletonList(task.get());
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.callOn(target, task), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<T> results = new ArrayList<>(shardCount);
+        futures.forEach(future -> results.add(future.join()));
+        return results;
+    }
+
+    /**
+     * Runs a query on every shard in parallel and merges the results.
+     *
+     * @param query the query returning one shard's rows
+     * @param order the order of the merged result; each shard's rows are
+     *              sorted with it before merging
+     * @return all rows, ordered by {@code order} when more than one shard exists
+     */
+    public <T> List<T> gather(Supplier<? extends Collection<T>> query, Comparator<? super T> order) {
+        return gather(query, order, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs a query on every shard in parallel and returns one page of the
+     * merged result. For a correct page each shard has to return at least its
+     * first {@code offset + limit} rows in {@code order}.
+     *
+     * @param query  the query returning one shard's rows
+     * @param order  the order of the merged result
+     * @param offset number of merged rows to skip
+     * @param limit  maximum number of rows to return
+     * @return the requested page of the merged rows
+     */
+    public <T> List<T> gather(Supplier<? extends Collection<T>> query, Comparator<? super T> order,
+                              int offset, int limit) {
+        List<? extends Collection<T>> parts = onEveryShard(query);
+        if (parts.size() == 1) {
+            // a single shard's list is returned as is, without copying it
+            List<T> rows = parts.get(0) instanceof List<T> list ? list : new ArrayList<>(parts.get(0));
+            return offset == 0 && limit >= rows.size()
+                    ? rows
+                    : new ArrayList<>(rows.subList(Math.min(offset, rows.size()),
+                    (int) Math.min(rows.size(), (long) offset + limit)));
+        }
+
+        List<List<T>> sortedParts = new ArrayList<>(parts.size());
+        long total = 0;
+        for (Collection<T> part : parts) {
+            List<T> sorted = new ArrayList<>(part);
+            sorted.sort(order);
+            sortedParts.add(sorted);
+            total += sorted.size();
+        }
+
+        long end = Math.min(total, (long) offset + limit);
+        List<T> page = new ArrayList<>((int) Math.max(0, end - offset));
+        int[] positions = new int[sortedParts.size()];
+        for (long taken = 0; taken < end; taken++) {
+            int best = -1;
+            for (int i = 0; i < sortedParts.size(); i++) {
+                if (positions[i] < sortedParts.get(i).size()
+                        && (best < 0 || order.compare(sortedParts.get(i).get(positions[i]),
+                        sortedParts.get(best).get(positions[best])) < 0)) {
+                    best = i;
+                }
+            }
+            T row = sortedParts.get(best).get(positions[best]++);
+            if (taken >= offset) {
+                page.add(row);
+            }
+        }
+        return page;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.exam.project.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard that the current thread's database work is routed to.
+ *
+ * <p>
+ * Read by {@link ShardRoutingDataSource} when a connection is fetched. A
+ * thread without a shard uses shard 0.
+ * </p>
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the current shard, or {@code null} if none is set
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a task with the given shard as the current one, restoring the
+     * previous shard afterwards.
+     *
+     * @param shard the shard index
+     * @param task  the task to run
+     * @return the task's result
+     */
+    public static <T> T callOn(int shard, Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
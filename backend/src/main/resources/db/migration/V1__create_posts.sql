@@ -0,0 +1,9 @@
+-- posts as first mapped; IF NOT EXISTS lets databases created by ddl-auto be baselined
+CREATE TABLE IF NOT EXISTS posts (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    published   BOOLEAN      NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS posts_seq START WITH 1 INCREMENT BY 50;
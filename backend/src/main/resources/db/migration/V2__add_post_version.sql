@@ -0,0 +1,2 @@
+-- optimistic locking
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
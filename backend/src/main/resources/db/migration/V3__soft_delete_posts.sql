@@ -0,0 +1,3 @@
+-- soft delete; tombstones are purged by the compactor
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
@@ -0,0 +1,5 @@
+-- creation time, filtered and sorted on by the query endpoint
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts (created_at);
+CREATE INDEX IF NOT EXISTS idx_posts_published_created_at ON posts (published, created_at);
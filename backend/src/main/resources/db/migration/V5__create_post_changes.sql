@@ -0,0 +1,13 @@
+-- change log written by the audit log
+CREATE TABLE IF NOT EXISTS post_changes (
+    id         BIGINT        NOT NULL PRIMARY KEY,
+    post_id    BIGINT,
+    operation  VARCHAR(16)   NOT NULL,
+    diff       VARCHAR(4096),
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_changes_post_id_id ON post_changes (post_id, id);
+
+CREATE SEQUENCE IF NOT EXISTS post_changes_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- scheduled publishing, looked up by due time
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS publish_at TIMESTAMP(6);
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS unpublish_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_posts_publish_at ON posts (publish_at);
+CREATE INDEX IF NOT EXISTS idx_posts_unpublish_at ON posts (unpublish_at);
@@ -0,0 +1,2 @@
+-- lets the compactor check cheaply whether any tombstone is due
+CREATE INDEX IF NOT EXISTS idx_posts_deleted_at ON posts (deleted_at);
@@ -0,0 +1,40 @@
+-- Post schema applied to every shard when sharding is enabled; mirrors the Post entity mapping.
+CREATE TABLE IF NOT EXISTS posts (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    published    BOOLEAN      NOT NULL,
+    publish_at   TIMESTAMP(6),
+    unpublish_at TIMESTAMP(6),
+    created_at   TIMESTAMP(6),
+    version      BIGINT       DEFAULT 0 NOT NULL,
+    deleted      BOOLEAN      DEFAULT FALSE NOT NULL,
+    deleted_at   TIMESTAMP(6)
+);
+
+-- columns added later, for shards created before them
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS publish_at TIMESTAMP(6);
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS unpublish_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts (created_at);
+CREATE INDEX IF NOT EXISTS idx_posts_published_created_at ON posts (published, created_at);
+CREATE INDEX IF NOT EXISTS idx_posts_publish_at ON posts (publish_at);
+CREATE INDEX IF NOT EXISTS idx_posts_unpublish_at ON posts (unpublish_at);
+CREATE INDEX IF NOT EXISTS idx_posts_deleted_at ON posts (deleted_at);
+
+CREATE SEQUENCE IF NOT EXISTS posts_seq START WITH 1 INCREMENT BY 50;
+
+-- change log; written to the first shard only
+CREATE TABLE IF NOT EXISTS post_changes (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    post_id     BIGINT,
+    operation   VARCHAR(16)  NOT NULL,
+    diff        VARCHAR(4096),
+    changed_by  VARCHAR(255),
+    changed_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_changes_post_id_id ON post_changes (post_id, id);
+
+CREATE SEQUENCE IF NOT EXISTS post_changes_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,151 @@
+package com.exam.project.audit;
+
+import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostAuditLogTest {
+
+    @Mock
+    private PostChangeRepository postChangeRepository;
+
+    // ================= DIFF =================
+    @Test
+    void shouldDiffOnlyChangedFields() {
+        Map<String, Object[]> diff = PostAuditLog.diff(
+                new Post("Old", "Same", false), new Post("New", "Same", true));
+
+        assertThat(diff).containsOnlyKeys("title", "published");
+        assertThat(diff.get("title")).containsExactly("Old", "New");
+        assertThat(diff.get("published")).containsExactly(false, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFitUserAndDiffIntoTheirColumns() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 100, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(PostAuditLog.USER_HEADER, "u".repeat(PostChange.MAX_CHANGED_BY_LENGTH + 1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            auditLog.record(1L, Operation.UPDATE, PostAuditLog.diff(new Post("Old", "Desc", false),
+                    new Post("x".repeat(PostChange.MAX_DIFF_LENGTH), "Desc", true)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        auditLog.flush();
+
+        ArgumentCaptor<List<PostChange>> batch = ArgumentCaptor.forClass(List.class);
+        verify(postChangeRepository).saveAll(batch.capture());
+        PostChange change = batch.getValue().get(0);
+        assertThat(change.getChangedBy()).hasSize(PostChange.MAX_CHANGED_BY_LENGTH);
+        assertThat(change.getDiff()).isEqualTo("{\"title\":null,\"published\":null}");
+    }
+
+    // ================= FLUSH =================
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteQueuedChangesInBatches() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 100, 2);
+
+        auditLog.record(1L, Operation.CREATE, PostAuditLog.diff(null, new Post("Title", null, false)));
+        auditLog.record(1L, Operation.DELETE, Map.of());
+        auditLog.record(2L, Operation.DELETE, Map.of());
+
+        assertThat(auditLog.flush()).isEqualTo(3);
+
+        ArgumentCaptor<List<PostChange>> batches = ArgumentCaptor.forClass(List.class);
+        verify(postChangeRepository, times(2)).saveAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+
+        PostChange created = batches.getAllValues().get(0).get(0);
+        assertThat(created.getPostId()).isEqualTo(1L);
+        assertThat(created.getOperation()).isEqualTo(Operation.CREATE);
+        assertThat(created.getDiff()).isEqualTo("{\"title\":[null,\"Title\"],\"published\":[null,false]}");
+        assertThat(batches.getAllValues().get(0).get(1).getDiff()).isNull();
+        assertThat(auditLog.getPending()).isZero();
+    }
+
+    @Test
+    void shouldDropChangesWhenQueueIsFull() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 1, 10);
+
+        auditLog.record(1L, Operation.DELETE, Map.of());
+        auditLog.record(2L, Operation.DELETE, Map.of());
+
+        assertThat(auditLog.getPending()).isEqualTo(1);
+        assertThat(auditLog.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryFailedBatchOnNextFlush() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 100, 10);
+        when(postChangeRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("database locked"))
+                .thenReturn(List.of());
+
+        auditLog.record(1L, Operation.DELETE, Map.of());
+
+        assertThat(auditLog.flush()).isZero();
+        assertThat(auditLog.getPending()).isEqualTo(1);
+        assertThat(auditLog.flush()).isEqualTo(1);
+        assertThat(auditLog.getPending()).isZero();
+        verify(postChangeRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldDiscardRejectedChangesAfterSecondFailure() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 100, 10);
+        when(postChangeRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("too long"));
+        when(postChangeRepository.save(any(PostChange.class))).thenAnswer(invocation -> {
+            PostChange change = invocation.getArgument(0);
+            if (change.getPostId() == 1L) {
+                throw new DataIntegrityViolationException("too long");
+            }
+            return change;
+        });
+
+        auditLog.record(1L, Operation.DELETE, Map.of());
+        auditLog.record(2L, Operation.DELETE, Map.of());
+
+        assertThat(auditLog.flush()).isZero();
+        assertThat(auditLog.flush()).isEqualTo(1);
+        assertThat(auditLog.getPending()).isZero();
+        assertThat(auditLog.getDiscarded()).isEqualTo(1);
+        assertThat(auditLog.flush()).isZero();
+        verify(postChangeRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldKeepChangesWhileDatabaseIsUnavailable() {
+        PostAuditLog auditLog = new PostAuditLog(postChangeRepository, new ObjectMapper(), 100, 10);
+        when(postChangeRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        when(postChangeRepository.save(any(PostChange.class))).thenThrow(new IllegalStateException("database down"));
+
+        auditLog.record(1L, Operation.DELETE, Map.of());
+
+        assertThat(auditLog.flush()).isZero();
+        assertThat(auditLog.flush()).isZero();
+        assertThat(auditLog.getPending()).isEqualTo(1);
+        assertThat(auditLog.getDiscarded()).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package com.exam.project.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostAccessLogTest {
+
+    @TempDir
+    Path dir;
+
+    // ================= RECORD =================
+    @Test
+    void shouldListMostRecentlyAccessedFirst() {
+        PostAccessLog accessLog = new PostAccessLog(dir.resolve("access.log"), 10);
+
+        accessLog.record(1L);
+        accessLog.record(2L);
+        accessLog.record(3L);
+        accessLog.record(1L);
+
+        assertThat(accessLog.recent()).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void shouldDropLeastRecentlyAccessedWhenFull() {
+        PostAccessLog accessLog = new PostAccessLog(dir.resolve("access.log"), 2);
+
+        accessLog.record(1L);
+        accessLog.record(2L);
+        accessLog.record(3L);
+
+        assertThat(accessLog.recent()).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void shouldKeepMostRecentlyAccessedWhenManyAreRecorded() {
+        PostAccessLog accessLog = new PostAccessLog(dir.resolve("access.log"), 3);
+
+        for (long id = 1; id <= 100; id++) {
+            accessLog.record(id);
+        }
+
+        assertThat(accessLog.recent()).containsExactly(100L, 99L, 98L);
+    }
+
+    @Test
+    void shouldForgetDeletedPosts() {
+        PostAccessLog accessLog = new PostAccessLog(dir.resolve("access.log"), 10);
+
+        accessLog.record(1L);
+        accessLog.record(2L);
+        accessLog.forget(1L);
+
+        assertThat(accessLog.recent()).containsExactly(2L);
+    }
+
+    // ================= PERSISTENCE =================
+    @Test
+    void shouldRestoreOrderFromFile() {
+        Path file = dir.resolve("access.log");
+        PostAccessLog accessLog = new PostAccessLog(file, 10);
+        accessLog.record(1L);
+        accessLog.record(2L);
+        accessLog.record(3L);
+
+        accessLog.flush();
+
+        assertThat(new PostAccessLog(file, 10).recent()).containsExactly(3L, 2L, 1L);
+        assertThat(new PostAccessLog(file, 2).recent()).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void shouldIgnoreUnreadableFile() throws Exception {
+        Path file = dir.resolve("access.log");
+        Files.writeString(file, "1\nnot-an-id\n");
+
+        assertThat(new PostAccessLog(file, 10).recent()).isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+package com.exam.project.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostJsonCacheTest {
+
+    // ================= GET & PUT =================
+    @Test
+    void shouldReturnCachedJsonForMatchingVersion() {
+        PostJsonCache cache = new PostJsonCache(1024);
+        byte[] json = "{\"id\":1}".getBytes();
+
+        cache.put(1L, 0L, json);
+
+        assertThat(cache.get(1L, 0L)).isEqualTo(json);
+    }
+
+    @Test
+    void shouldMissForOtherVersion() {
+        PostJsonCache cache = new PostJsonCache(1024);
+
+        cache.put(1L, 0L, "{\"id\":1}".getBytes());
+
+        assertThat(cache.get(1L, 1L)).isNull();
+    }
+
+    // ================= EVICTION =================
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenOverBudget() {
+        PostJsonCache cache = new PostJsonCache(20);
+
+        cache.put(1L, 0L, new byte[8]);
+        cache.put(2L, 0L, new byte[8]);
+        cache.get(1L, 0L);
+        cache.put(3L, 0L, new byte[8]);
+
+        assertThat(cache.get(1L, 0L)).isNotNull();
+        assertThat(cache.get(2L, 0L)).isNull();
+        assertThat(cache.get(3L, 0L)).isNotNull();
+        assertThat(cache.size()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldRemoveEntryOnEvict() {
+        PostJsonCache cache = new PostJsonCache(1024);
+
+        cache.put(1L, 0L, new byte[8]);
+        cache.evict(1L);
+
+        assertThat(cache.get(1L, 0L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
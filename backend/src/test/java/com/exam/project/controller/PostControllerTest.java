@@ -1,6 +1,8 @@
 package com.exam.project.controller;
 
 import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.service.PostQuery;
 import com.exam.project.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -29,6 +32,18 @@ class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    // ================= CORS =================
+    @Test
+    void shouldAllowCredentialedRequestsFromFrontend() throws Exception {
+        // the read-your-writes cookie is only sent back by the browser on credentialed requests
+        mockMvc.perform(options("/api/posts")
+                        .header("Origin", "http://localhost:3000")
+                        .header("Access-Control-Request-Method", "POST"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:3000"))
+                .andExpect(header().string("Access-Control-Allow-Credentials", "true"));
+    }
+
     // ================= GET ALL POSTS =================
     @Test
     void shouldReturnAllPosts() throws Exception {
@@ -37,14 +52,14 @@ class PostControllerTest {
                 new Post("Title 2", "Desc 2", false)
         );
 
-        when(postService.getAllPosts(null))
+        when(postService.getAllPosts(null, 0, PostQuery.MAX_SIZE))
                 .thenReturn(new ResponseEntity<>(posts, HttpStatus.OK));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(2));
 
-        verify(postService).getAllPosts(null);
+        verify(postService).getAllPosts(null, 0, PostQuery.MAX_SIZE);
     }
 
     // ================= GET POST BY ID =================
@@ -115,13 +130,57 @@ class PostControllerTest {
                 new Post("Published", "Yes", true)
         );
 
-        when(postService.findByPublished())
+        when(postService.findByPublished(0, PostQuery.MAX_SIZE))
                 .thenReturn(new ResponseEntity<>(posts, HttpStatus.OK));
 
         mockMvc.perform(get("/api/posts/published"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1));
 
-        verify(postService).findByPublished();
+        verify(postService).findByPublished(0, PostQuery.MAX_SIZE);
+    }
+
+    // ================= QUERY POSTS =================
+    @Test
+    void shouldQueryPosts() throws Exception {
+        List<Post> posts = List.of(
+                new Post("Spring", "Desc", true)
+        );
+
+        when(postService.queryPosts(any(PostQuery.class)))
+                .thenReturn(new ResponseEntity<>(posts, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/posts/query")
+                        .param("title", "spring")
+                        .param("published", "true")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("sort", "createdAt,desc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1));
+
+        verify(postService).queryPosts(new PostQuery("spring", true,
+                LocalDateTime.of(2024, 1, 1, 0, 0), null, "createdAt,desc", 0, 5, false));
+    }
+
+    // ================= POST HISTORY =================
+    @Test
+    void shouldReturnPostHistory() throws Exception {
+        List<PostChange> changes = List.of(
+                new PostChange(1L, PostChange.Operation.UPDATE, "{\"title\":[\"Old\",\"New\"]}", "tester",
+                        LocalDateTime.of(2024, 1, 1, 0, 0))
+        );
+
+        when(postService.getPostHistory(1L, 42L, 10))
+                .thenReturn(new ResponseEntity<>(changes, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/posts/1/history")
+                        .param("before", "42")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].operation").value("UPDATE"))
+                .andExpect(jsonPath("$[0].diff.title[1]").value("New"));
+
+        verify(postService).getPostHistory(1L, 42L, 10);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.exam.project.controller;
+
+import com.exam.project.importer.ImportFormat;
+import com.exam.project.importer.ImportJob;
+import com.exam.project.importer.PostImporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PostImportController.class)
+class PostImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostImporter postImporter;
+
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "posts.csv", "text/csv", "title\nSpring\n".getBytes());
+
+    // ================= START IMPORT =================
+    @Test
+    void shouldAcceptImport() throws Exception {
+        ImportJob job = new ImportJob("posts.csv", ImportFormat.CSV, 10);
+        when(postImporter.start(any(), isNull())).thenReturn(job);
+
+        mockMvc.perform(multipart("/api/posts/imports").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/posts/imports/" + job.getId()))
+                .andExpect(jsonPath("$.id").value(job.getId().toString()))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andExpect(jsonPath("$.format").value("CSV"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownFormat() throws Exception {
+        when(postImporter.start(any(), eq("xml"))).thenThrow(new IllegalArgumentException("Unknown import format"));
+
+        mockMvc.perform(multipart("/api/posts/imports").file(file).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnServerErrorWhenUploadCannotBeSpooled() throws Exception {
+        when(postImporter.start(any(), isNull())).thenThrow(new IOException("disk full"));
+
+        mockMvc.perform(multipart("/api/posts/imports").file(file))
+                .andExpect(status().isInternalServerError());
+    }
+
+    // ================= GET IMPORT =================
+    @Test
+    void shouldReturnImportStatus() throws Exception {
+        ImportJob job = new ImportJob("posts.ndjson", ImportFormat.NDJSON, 10);
+        when(postImporter.find(job.getId())).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/api/posts/imports/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileName").value("posts.ndjson"))
+                .andExpect(jsonPath("$.rowsImported").value(0))
+                .andExpect(jsonPath("$.errors").isArray());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownImport() throws Exception {
+        when(postImporter.find(any(UUID.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/posts/imports/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnNoContentWithoutImports() throws Exception {
+        when(postImporter.findAll()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/posts/imports"))
+                .andExpect(status().isNoContent());
+    }
+}
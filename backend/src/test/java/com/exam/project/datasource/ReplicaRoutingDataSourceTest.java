@@ -0,0 +1,79 @@
+package com.exam.project.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", h2("replica0"));
+        replicas.put("replica-1", h2("replica1"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(h2("primary"), replicas);
+        routing.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    // ================= ROUTING =================
+    @Test
+    void shouldRouteWritesToPrimary() throws SQLException {
+        assertThat(databaseName()).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicasRoundRobin() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(databaseName()).isEqualTo("REPLICA0");
+        assertThat(databaseName()).isEqualTo("REPLICA1");
+        assertThat(databaseName()).isEqualTo("REPLICA0");
+    }
+
+    // ================= READ YOUR WRITES =================
+    @Test
+    void shouldRouteReadsToPrimaryWhenPinned() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertThat(databaseName()).isEqualTo("PRIMARY");
+    }
+
+    private String databaseName() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DATABASE()")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,90 @@
+package com.exam.project.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+    private static CsvRowReader reader(String csv) throws IOException {
+        return new CsvRowReader(new BufferedReader(new StringReader(csv)));
+    }
+
+    // ================= FIELDS =================
+    @Test
+    void shouldReadRowsByHeaderName() throws Exception {
+        CsvRowReader reader = reader("\uFEFFtitle, published\nSpring,true\n\nJava,false\n");
+
+        assertThat(reader.next()).isEqualTo(Map.of("title", "Spring", "published", "true"));
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isEqualTo(Map.of("title", "Java", "published", "false"));
+        assertThat(reader.line()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void shouldReadQuotedFields() throws Exception {
+        CsvRowReader reader = reader("title,description\n\"Hello, world\",\"say \"\"hi\"\"\nand bye\"\nnext,\n");
+
+        assertThat(reader.next()).isEqualTo(Map.of("title", "Hello, world", "description", "say \"hi\"\nand bye"));
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isEqualTo(Map.of("title", "next", "description", ""));
+        assertThat(reader.line()).isEqualTo(4);
+    }
+
+    // ================= ERRORS =================
+    @Test
+    void shouldRejectRowWithWrongFieldCountAndContinue() throws Exception {
+        CsvRowReader reader = reader("title,description\na,b,c\nd,e\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidRowException.class)
+                .hasMessage("Expected 2 fields but found 3");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isEqualTo(Map.of("title", "d", "description", "e"));
+    }
+
+    @Test
+    void shouldRejectOverlongLineWithoutBufferingItAndContinue() throws Exception {
+        CsvRowReader reader = reader("title\n" + "x".repeat(LineReader.MAX_LENGTH + 1) + "\r\nnext\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidRowException.class)
+                .hasMessage("Line longer than " + LineReader.MAX_LENGTH + " characters");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isEqualTo(Map.of("title", "next"));
+        assertThat(reader.line()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSkipOverlongMultiLineFieldAndContinue() throws Exception {
+        String line = "x".repeat(1000) + "\n";
+        String overlong = line.repeat(CsvRowReader.MAX_FIELD_LENGTH / line.length() + 10);
+        CsvRowReader reader = reader("title,description\na,\"" + overlong + "end \"\"quoted\"\"\"\nb,c\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidRowException.class)
+                .hasMessage("Field longer than " + CsvRowReader.MAX_FIELD_LENGTH + " characters");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isEqualTo(Map.of("title", "b", "description", "c"));
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() throws Exception {
+        CsvRowReader reader = reader("title\n\"open\nrest\n");
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidRowException.class);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void shouldRejectEmptyFile() {
+        assertThatThrownBy(() -> reader("")).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,191 @@
+package com.exam.project.importer;
+
+import com.exam.project.importer.ImportJob.RowError;
+import com.exam.project.model.Post;
+import com.exam.project.repository.PostRepository;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.sharding.PostShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostImporterTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ResilientPostReader postReader;
+
+    @TempDir
+    Path dir;
+
+    private PostImporter importer;
+
+    private final List<Post> saved = new CopyOnWriteArrayList<>();
+
+    private PostImporter importer(int batchSize) {
+        importer = new PostImporter(postRepository, PostShards.single(), postReader, new ObjectMapper(),
+                batchSize, 2, 1, 10, 2);
+        return importer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (importer != null) {
+            importer.shutdown();
+        }
+    }
+
+    private ImportJob run(String content, ImportFormat format, int batchSize) throws Exception {
+        Path file = Files.writeString(dir.resolve("posts." + format.name().toLowerCase()), content);
+        ImportJob job = importer(batchSize).start(file, file.getFileName().toString(), format);
+        await().atMost(Duration.ofSeconds(10)).until(job::isFinished);
+        return job;
+    }
+
+    private void stubSaveAll() {
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            saved.addAll(posts);
+            return posts;
+        });
+    }
+
+    // ================= CSV =================
+    @Test
+    void shouldImportCsvInBatchesAndReportInvalidRows() throws Exception {
+        stubSaveAll();
+        String csv = """
+                title,description,published,publishAt
+                First,one,true,
+                ,missing title,false,
+                Second,two,,2030-01-01T10:00:00
+                Third,three,maybe,
+                Fourth,four,false,
+                Fifth,five,FALSE,
+                """;
+
+        ImportJob job = run(csv, ImportFormat.CSV, 2);
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(6);
+        assertThat(job.getRowsImported()).isEqualTo(4);
+        assertThat(job.getRowsFailed()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(RowError::line).containsExactly(3L, 5L);
+        assertThat(job.getRowsPerSecond()).isPositive();
+        verify(postRepository, times(2)).saveAll(anyList());
+        verify(postReader).forget(ReadOperation.LIST);
+        verify(postReader).forget(ReadOperation.PUBLISHED);
+
+        assertThat(saved).extracting(Post::getTitle).containsExactlyInAnyOrder("First", "Second", "Fourth", "Fifth");
+        Post second = saved.stream().filter(post -> post.getTitle().equals("Second")).findFirst().orElseThrow();
+        assertThat(second.isPublished()).isFalse();
+        assertThat(second.getPublishAt()).isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 0));
+    }
+
+    // ================= NDJSON =================
+    @Test
+    void shouldImportNdjsonAndReportInvalidLines() throws Exception {
+        stubSaveAll();
+        String ndjson = """
+                {"title":"First","description":"one","published":true}
+                not json
+                [1, 2]
+
+                {"title":"Second","unpublishAt":"2030-01-01T10:00:00","ignored":1}
+                """;
+
+        ImportJob job = run(ndjson, ImportFormat.NDJSON, 10);
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(4);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(RowError::line).containsExactly(2L, 3L);
+        assertThat(saved).extracting(Post::getTitle).containsExactly("First", "Second");
+        assertThat(saved.get(0).isPublished()).isTrue();
+        assertThat(saved.get(1).getUnpublishAt()).isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 0));
+    }
+
+    // ================= FAILURES =================
+    @Test
+    void shouldRetryFailedBatchRowByRow() throws Exception {
+        when(postRepository.saveAll(anyList())).thenThrow(new IllegalStateException("batch failed"));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
+            Post post = invocation.getArgument(0);
+            if (post.getTitle().equals("Bad")) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return post;
+        });
+
+        ImportJob job = run("title\nGood\nBad\nAlso good\n", ImportFormat.CSV, 10);
+
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getErrors()).containsExactly(new RowError(3, "constraint violated"));
+        verify(postRepository, times(3)).save(any(Post.class));
+    }
+
+    @Test
+    void shouldFailJobOnUnreadableFileAndDeleteIt() throws Exception {
+        ImportJob job = run("", ImportFormat.CSV, 10);
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.FAILED);
+        assertThat(job.getFailure()).isEqualTo("CSV file is empty");
+        assertThat(dir).isEmptyDirectory();
+        verifyNoInteractions(postRepository, postReader);
+    }
+
+    @Test
+    void shouldKeepErrorsUpToMaxErrors() throws Exception {
+        ImportJob job = run("title\n" + ",\n".repeat(15), ImportFormat.CSV, 10);
+
+        assertThat(job.getRowsFailed()).isEqualTo(15);
+        assertThat(job.getErrors()).hasSize(10);
+    }
+
+    // ================= JOBS =================
+    @Test
+    void shouldEvictOldestFinishedJobs() throws Exception {
+        ImportJob first = run("title\n", ImportFormat.CSV, 10);
+        Path file = Files.writeString(dir.resolve("more.csv"), "title\n");
+        ImportJob second = importer.start(file, "more.csv", ImportFormat.CSV);
+        await().atMost(Duration.ofSeconds(10)).until(second::isFinished);
+        ImportJob third = importer.start(Files.writeString(dir.resolve("last.csv"), "title\n"), "last.csv",
+                ImportFormat.CSV);
+
+        assertThat(importer.find(first.getId())).isEmpty();
+        assertThat(importer.findAll()).containsExactly(second, third);
+    }
+
+    // ================= FORMAT =================
+    @Test
+    void shouldDetectFormat() {
+        assertThat(ImportFormat.detect("ndjson", "posts.csv", null)).isEqualTo(ImportFormat.NDJSON);
+        assertThat(ImportFormat.detect(null, "posts.CSV", null)).isEqualTo(ImportFormat.CSV);
+        assertThat(ImportFormat.detect(null, "posts.jsonl", null)).isEqualTo(ImportFormat.NDJSON);
+        assertThat(ImportFormat.detect(null, "upload", "application/x-ndjson")).isEqualTo(ImportFormat.NDJSON);
+        assertThatThrownBy(() -> ImportFormat.detect(null, "posts.txt", "text/plain"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportFormat.detect("xml", "posts.csv", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.exam.project.json;
+
+import com.exam.project.model.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares Jackson with {@link PostJsonWriter} for {@code List<Post>} responses.
+ *
+ * <p>
+ * Run through {@code scripts/json-writer-benchmark.sh}, which adds the JMH
+ * GC profiler ({@code gc.alloc.rate.norm} is the allocation per list) and
+ * GC logs of both variants.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostJsonWriterBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final PostJsonWriter writer = new PostJsonWriter();
+
+    private List<Post> posts;
+
+    private Sink sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        posts = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Post post = new Post("Post " + i + " about spring", "Synthetic post generated for benchmarking", i % 2 == 0);
+            post.setId(i + 1);
+            ReflectionTestUtils.setField(post, "createdAt", now.minusSeconds(i));
+            posts.add(post);
+        }
+        sink = new Sink(blackhole);
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        objectMapper.writeValue(sink, posts);
+    }
+
+    @Benchmark
+    public void writer() throws IOException {
+        writer.writeArray(posts, sink);
+    }
+
+    /**
+     * Discards the output, like a response stream that is never closed by the serializer.
+     */
+    private static final class Sink extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.exam.project.json;
+
+import com.exam.project.model.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final PostJsonWriter writer = new PostJsonWriter();
+
+    // ================= MATCHES JACKSON =================
+    @Test
+    void shouldWriteSameBytesAsJackson() throws Exception {
+        Post scheduled = post(5, "Scheduled", "Desc", false, LocalDateTime.of(2024, 1, 2, 3, 4));
+        scheduled.setPublishAt(LocalDateTime.of(2024, 2, 1, 8, 0));
+        scheduled.setUnpublishAt(LocalDateTime.of(2024, 3, 1, 8, 0, 30, 500_000));
+        List<Post> posts = List.of(
+                post(1, "Plain", "Desc", true, LocalDateTime.of(2024, 1, 2, 3, 4)),
+                post(2, "Quotes \" and \\ backslash", null, false, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000)),
+                post(3, "Control \n\t\r\b\f\u0001 chars", "", true, LocalDateTime.of(999, 12, 31, 23, 59, 59, 1)),
+                post(4, "Unicode é € 😀", "x", false, null),
+                scheduled);
+
+        assertThat(write(posts)).isEqualTo(objectMapper.writeValueAsBytes(posts));
+    }
+
+    @Test
+    void shouldWriteEmptyArray() throws Exception {
+        assertThat(new String(write(List.of()))).isEqualTo("[]");
+    }
+
+    // ================= BUFFERING =================
+    @Test
+    void shouldFlushListsLargerThanBuffer() throws Exception {
+        String longTitle = "€\"".repeat(PostJsonWriter.BUFFER_SIZE);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            posts.add(post(i, longTitle, "Desc " + i, i % 2 == 0, LocalDateTime.of(2020, 5, 5, 5, 5, 5, i * 1000)));
+        }
+
+        assertThat(write(posts)).isEqualTo(objectMapper.writeValueAsBytes(posts));
+        assertThat(write(posts.subList(0, 1))).isEqualTo(objectMapper.writeValueAsBytes(posts.subList(0, 1)));
+    }
+
+    private byte[] write(List<Post> posts) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeArray(posts, out);
+        return out.toByteArray();
+    }
+
+    private static Post post(long id, String title, String description, boolean published, LocalDateTime createdAt) {
+        Post post = new Post(title, description, published);
+        post.setId(id);
+        ReflectionTestUtils.setField(post, "createdAt", createdAt);
+        return post;
+    }
+}
@@ -0,0 +1,99 @@
+package com.exam.project.repository;
+
+import com.exam.project.SpringBootJpaH2Application;
+import com.exam.project.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PostRepository} reads with and without the Hibernate
+ * second-level and query cache.
+ *
+ * <p>
+ * Each fork starts the application without a web server on its own
+ * in-memory database, seeded with {@code posts} posts, half of them
+ * published. {@code findById} reads random posts, {@code findByPublished}
+ * reads the published feed. Run it like the JSON writer benchmark:
+ * </p>
+ *
+ * <pre>
+ * java -cp "$CP" org.openjdk.jmh.Main PostCacheBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostCacheBenchmark {
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    @Param({"1000"})
+    int posts;
+
+    private ConfigurableApplicationContext context;
+
+    private PostRepository postRepository;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootJpaH2Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:post-cache-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cached,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + cached,
+                        "posts.warmup.enabled=false",
+                        "posts.warmup.access-log.path=target/post-cache-benchmark-access.log")
+                .run();
+        postRepository = context.getBean(PostRepository.class);
+
+        List<Post> seeded = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            seeded.add(new Post("Post " + i, "Seeded for the cache benchmark", i % 2 == 0));
+        }
+        ids = postRepository.saveAll(seeded).stream().mapToLong(Post::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Post> findById() {
+        return postRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<Post> findByPublished() {
+        return postRepository.findByPublished(true);
+    }
+}
@@ -0,0 +1,130 @@
+package com.exam.project.repository;
+
+import com.exam.project.model.Post;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The caches are only filled and invalidated when transactions commit, so
+ * these tests run without the test-managed transaction: every repository call
+ * commits on its own, and the posts are removed after each test.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostCacheTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        postRepository.softDeleteAll(LocalDateTime.now().minusDays(1));
+        postRepository.purgeDeleted(LocalDateTime.now(), Integer.MAX_VALUE);
+    }
+
+    // ================= INSERT =================
+    @Test
+    void shouldInsertPostWithAssignedIdWithoutSelectingItFirst() {
+        Post post = new Post("Assigned", "Desc", true);
+        post.assignId(1_000_000_000L);
+
+        postRepository.save(post);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(postRepository.findById(1_000_000_000L)).isPresent();
+    }
+
+    // ================= ENTITY CACHE =================
+    @Test
+    void shouldServeFindByIdFromSecondLevelCache() {
+        Post post = postRepository.save(new Post("Cached", "Desc", true));
+
+        postRepository.findById(post.getId());
+        postRepository.findById(post.getId());
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateEntityCacheOnSave() {
+        Post post = postRepository.save(new Post("Before", "Desc", true));
+
+        Post loaded = postRepository.findById(post.getId()).orElseThrow();
+        loaded.setTitle("After");
+        postRepository.save(loaded);
+
+        assertThat(postRepository.findById(post.getId()))
+                .get()
+                .extracting(Post::getTitle)
+                .isEqualTo("After");
+    }
+
+    @Test
+    void shouldInvalidateEntityCacheOnDelete() {
+        Post post = postRepository.save(new Post("Delete Me", "Desc", true));
+
+        postRepository.findById(post.getId());
+        postRepository.deleteById(post.getId());
+
+        assertThat(postRepository.findById(post.getId())).isEmpty();
+    }
+
+    // ================= QUERY CACHE =================
+    @Test
+    void shouldServeFindByPublishedFromQueryCache() {
+        postRepository.save(new Post("Published", "Desc", true));
+
+        postRepository.findByPublished(true);
+        postRepository.findByPublished(true);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateQueryCacheOnSave() {
+        postRepository.save(new Post("Published 1", "Desc", true));
+
+        assertThat(postRepository.findByPublished(true)).hasSize(1);
+        assertThat(postRepository.findByPublished(true)).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        postRepository.save(new Post("Published 2", "Desc", true));
+
+        assertThat(postRepository.findByPublished(true)).hasSize(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateQueryCacheOnBulkUpdate() {
+        postRepository.save(new Post("Published", "Desc", true));
+        assertThat(postRepository.findByPublished(true)).hasSize(1);
+
+        postRepository.softDeleteAll(LocalDateTime.now());
+
+        assertThat(postRepository.findByPublished(true)).isEmpty();
+    }
+}
@@ -0,0 +1,39 @@
+package com.exam.project.repository;
+
+import com.exam.project.model.PostChange;
+import com.exam.project.model.PostChange.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class PostChangeRepositoryTest {
+
+    @Autowired
+    private PostChangeRepository postChangeRepository;
+
+    // ================= KEYSET PAGINATION =================
+    @Test
+    void shouldPageThroughHistoryNewestFirst() {
+        for (int i = 0; i < 5; i++) {
+            postChangeRepository.save(new PostChange(1L, Operation.UPDATE, null, "tester", LocalDateTime.now()));
+        }
+        postChangeRepository.save(new PostChange(2L, Operation.CREATE, null, "tester", LocalDateTime.now()));
+
+        List<PostChange> first = postChangeRepository.findByPostIdAndIdLessThanOrderByIdDesc(
+                1L, Long.MAX_VALUE, PageRequest.of(0, 3));
+        List<PostChange> second = postChangeRepository.findByPostIdAndIdLessThanOrderByIdDesc(
+                1L, first.get(2).getId(), PageRequest.of(0, 3));
+
+        assertThat(first).hasSize(3).extracting(PostChange::getPostId).containsOnly(1L);
+        assertThat(first.get(0).getId()).isGreaterThan(first.get(2).getId());
+        assertThat(second).hasSize(2);
+        assertThat(second.get(0).getId()).isLessThan(first.get(2).getId());
+    }
+}
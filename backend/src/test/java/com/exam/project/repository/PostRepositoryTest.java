@@ -1,13 +1,20 @@
 package com.exam.project.repository;
 
 import com.exam.project.model.Post;
+import com.exam.project.repository.PostRepositoryCustom.DueChange;
+import com.exam.project.repository.PostRepositoryCustom.DueTransition;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 class PostRepositoryTest {
@@ -15,6 +22,9 @@ class PostRepositoryTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     // ================= SAVE & FIND =================
     @Test
     void shouldSaveAndFindPost() {
@@ -58,4 +68,83 @@ class PostRepositoryTest {
 
         assertThat(postRepository.findById(post.getId())).isEmpty();
     }
+
+    // ================= SOFT DELETE =================
+    @Test
+    void shouldHideSoftDeletedPosts() {
+        Post post = postRepository.save(new Post("Soft", "Desc", true));
+
+        postRepository.deleteById(post.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(postRepository.findById(post.getId())).isEmpty();
+        assertThat(postRepository.findByPublished(true)).isEmpty();
+    }
+
+    @Test
+    void shouldSoftDeleteAllAndPurgeTombstones() {
+        postRepository.save(new Post("Post 1", "Desc 1", true));
+        postRepository.save(new Post("Post 2", "Desc 2", false));
+
+        int deleted = postRepository.softDeleteAll(LocalDateTime.now().minusMinutes(5));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(postRepository.findAll()).isEmpty();
+        assertThat(postRepository.existsDeletedBefore(LocalDateTime.now().minusMinutes(10))).isFalse();
+        assertThat(postRepository.existsDeletedBefore(LocalDateTime.now())).isTrue();
+        assertThat(postRepository.purgeDeleted(LocalDateTime.now(), 1)).isEqualTo(1);
+        assertThat(postRepository.purgeDeleted(LocalDateTime.now(), 10)).isEqualTo(1);
+        assertThat(postRepository.existsDeletedBefore(LocalDateTime.now())).isFalse();
+    }
+
+    // ================= QUERY =================
+    @Test
+    void shouldFindFilteredAndSortedSlice() {
+        postRepository.save(new Post("Spring Boot", "Desc", true));
+        postRepository.save(new Post("Spring Data", "Desc", true));
+        postRepository.save(new Post("Spring Draft", "Desc", false));
+        postRepository.save(new Post("Java Basics", "Desc", true));
+
+        Specification<Post> spec = Specification.allOf(
+                PostSpecifications.titleContains("SPRING"),
+                PostSpecifications.publishedIs(true),
+                PostSpecifications.createdBefore(LocalDateTime.now().plusMinutes(1)));
+
+        List<Post> result = postRepository.findSlice(spec, Sort.by(Sort.Direction.DESC, "title"), 0, 1);
+
+        assertThat(result).extracting(Post::getTitle).containsExactly("Spring Data");
+        assertThat(result.get(0).getCreatedAt()).isNotNull();
+        assertThat(postRepository.count(spec)).isEqualTo(2);
+    }
+
+    // ================= SCHEDULED PUBLISHING =================
+    @Test
+    void shouldApplyDueTransitions() {
+        LocalDateTime now = LocalDateTime.now();
+        Post due = new Post("Due", "Desc", false);
+        due.setPublishAt(now.minusMinutes(1));
+        Post later = new Post("Later", "Desc", false);
+        later.setPublishAt(now.plusHours(1));
+        Post expiring = new Post("Expiring", "Desc", true);
+        expiring.setUnpublishAt(now.minusMinutes(1));
+        postRepository.save(due);
+        postRepository.save(later);
+        postRepository.save(expiring);
+
+        assertThat(postRepository.applyDue(DueTransition.UNPUBLISH_BEFORE_PUBLISH, now, 10)).isEmpty();
+        assertThat(postRepository.applyDue(DueTransition.PUBLISH, now, 10))
+                .extracting(DueChange::id, DueChange::published)
+                .containsExactly(tuple(due.getId(), false));
+        assertThat(postRepository.applyDue(DueTransition.UNPUBLISH, now, 10))
+                .extracting(DueChange::id, DueChange::published)
+                .containsExactly(tuple(expiring.getId(), true));
+
+        Post published = postRepository.findById(due.getId()).orElseThrow();
+        assertThat(published.isPublished()).isTrue();
+        assertThat(published.getPublishAt()).isNull();
+        assertThat(postRepository.findById(expiring.getId()).orElseThrow().isPublished()).isFalse();
+        assertThat(postRepository.findById(later.getId()).orElseThrow().isPublished()).isFalse();
+        assertThat(postRepository.applyDue(DueTransition.PUBLISH, now, 10)).isEmpty();
+    }
 }
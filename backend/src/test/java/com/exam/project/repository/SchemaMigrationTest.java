@@ -0,0 +1,34 @@
+package com.exam.project.repository;
+
+import com.exam.project.model.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema with the Flyway migrations used in production and lets
+ * Hibernate validate the entity mappings against it, so a mapping change
+ * without a migration fails here.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostChangeRepository postChangeRepository;
+
+    @Test
+    void shouldMatchEntityMappings() {
+        Post post = postRepository.saveAndFlush(new Post("Migrated", "Desc", true));
+
+        assertThat(postRepository.findById(post.getId())).isPresent();
+        assertThat(postChangeRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,195 @@
+package com.exam.project.resilience;
+
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.resilience.ResilientPostReader.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientPostReaderTest {
+
+    private final ResilientPostReader reader = new ResilientPostReader(
+            Duration.ofMillis(100), Duration.ofMillis(100), Duration.ofMillis(100),
+            2, Duration.ofMinutes(1), 10, 2);
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    // ================= FRESH READS =================
+    @Test
+    void shouldReturnFreshResult() {
+        Result<String> result = reader.read(ReadOperation.BY_ID, 1L, () -> "post");
+
+        assertThat(result.value()).isEqualTo("post");
+        assertThat(result.stale()).isFalse();
+    }
+
+    // ================= STALE FALLBACK =================
+    @Test
+    void shouldServeLastKnownGoodResultOnTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        reader.read(ReadOperation.BY_ID, 1L, () -> "old");
+
+        Result<String> result = reader.read(ReadOperation.BY_ID, 1L, () -> {
+            await(release);
+            return "new";
+        });
+        release.countDown();
+
+        assertThat(result.value()).isEqualTo("old");
+        assertThat(result.stale()).isTrue();
+    }
+
+    @Test
+    void shouldDropLeastRecentlyUsedResultsBeyondRowBudget() {
+        reader.read(ReadOperation.LIST, "a", () -> List.of(1, 2, 3, 4, 5, 6));
+        reader.read(ReadOperation.LIST, "b", () -> List.of(1, 2, 3, 4, 5));
+        // larger than the whole budget of 10 rows, so never remembered
+        reader.read(ReadOperation.LIST, "c", () -> List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+
+        assertThatThrownBy(() -> reader.read(ReadOperation.LIST, "a", ResilientPostReaderTest::fail))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(reader.read(ReadOperation.LIST, "b", ResilientPostReaderTest::fail).stale()).isTrue();
+        assertThatThrownBy(() -> reader.read(ReadOperation.LIST, "c", ResilientPostReaderTest::fail))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldForgetEveryResultOfOneOperation() {
+        reader.read(ReadOperation.PUBLISHED, 0, () -> List.of(1));
+        reader.read(ReadOperation.PUBLISHED, 1, () -> List.of(2));
+        reader.read(ReadOperation.LIST, 0, () -> List.of(1));
+
+        reader.forget(ReadOperation.PUBLISHED);
+
+        assertThatThrownBy(() -> reader.read(ReadOperation.PUBLISHED, 1, ResilientPostReaderTest::fail))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(reader.read(ReadOperation.LIST, 0, ResilientPostReaderTest::fail).stale()).isTrue();
+    }
+
+    @Test
+    void shouldFailWhenNoEarlierResultIsKnown() {
+        assertThatThrownBy(() -> reader.read(ReadOperation.BY_ID, 1L, () -> {
+            throw new IllegalStateException("database locked");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    // ================= CIRCUIT BREAKER =================
+    @Test
+    void shouldStopCallingDatabaseOnceCircuitIsOpen() {
+        AtomicInteger calls = new AtomicInteger();
+        reader.read(ReadOperation.PUBLISHED, true, () -> "feed");
+
+        for (int i = 0; i < 5; i++) {
+            Result<String> result = reader.read(ReadOperation.PUBLISHED, true, () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("database locked");
+            });
+            assertThat(result.stale()).isTrue();
+        }
+
+        assertThat(calls).hasValue(2);
+        assertThat(reader.getCircuitState(ReadOperation.PUBLISHED)).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldKeepSingleReadsFlowingWhenListBreakerOpens() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> reader.read(ReadOperation.LIST, null, ResilientPostReaderTest::fail))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        Result<String> result = reader.read(ReadOperation.BY_ID, 1L, () -> "post");
+
+        assertThat(reader.getCircuitState(ReadOperation.LIST)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(reader.getCircuitState(ReadOperation.BY_ID)).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(result.value()).isEqualTo("post");
+        assertThat(result.stale()).isFalse();
+    }
+
+    @Test
+    void shouldProbeAgainAfterInterruptedProbe() {
+        ResilientPostReader probing = new ResilientPostReader(
+                Duration.ofMillis(100), Duration.ofMillis(100), Duration.ofMillis(100),
+                1, Duration.ZERO, 10, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            probing.read(ReadOperation.BY_ID, 1L, () -> "post");
+            probing.read(ReadOperation.BY_ID, 1L, () -> {
+                throw new IllegalStateException("database locked");
+            });
+            assertThat(probing.getCircuitState(ReadOperation.BY_ID)).isEqualTo(CircuitBreaker.State.OPEN);
+
+            Thread.currentThread().interrupt();
+            Result<String> interrupted = probing.read(ReadOperation.BY_ID, 1L, () -> {
+                await(release);
+                return "post";
+            });
+            assertThat(Thread.interrupted()).isTrue();
+            assertThat(interrupted.stale()).isTrue();
+            assertThat(probing.getCircuitState(ReadOperation.BY_ID)).isEqualTo(CircuitBreaker.State.OPEN);
+
+            Result<String> probe = probing.read(ReadOperation.BY_ID, 1L, () -> "fresh");
+            assertThat(probe.value()).isEqualTo("fresh");
+            assertThat(probing.getCircuitState(ReadOperation.BY_ID)).isEqualTo(CircuitBreaker.State.CLOSED);
+        } finally {
+            release.countDown();
+            probing.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotCountSaturatedPoolAsFailure() throws Exception {
+        ResilientPostReader saturated = new ResilientPostReader(
+                Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(10),
+                1, Duration.ofMinutes(1), 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        try {
+            saturated.read(ReadOperation.LIST, null, () -> "posts");
+            // one running and four queued reads fill the pool
+            for (int i = 0; i < 5; i++) {
+                Thread caller = new Thread(() -> saturated.read(ReadOperation.LIST, null, () -> {
+                    await(release);
+                    return "posts";
+                }));
+                caller.start();
+                callers.add(caller);
+            }
+            Thread.sleep(200);
+
+            Result<String> rejected = saturated.read(ReadOperation.LIST, null, () -> "posts");
+
+            assertThat(rejected.stale()).isTrue();
+            assertThat(saturated.getCircuitState(ReadOperation.LIST)).isEqualTo(CircuitBreaker.State.CLOSED);
+        } finally {
+            release.countDown();
+            for (Thread caller : callers) {
+                caller.join();
+            }
+            saturated.shutdown();
+        }
+    }
+
+    private static <T> T fail() {
+        throw new IllegalStateException("database locked");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
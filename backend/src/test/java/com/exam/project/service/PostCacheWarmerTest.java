@@ -0,0 +1,95 @@
+package com.exam.project.service;
+
+import com.exam.project.cache.CachedPostHttpMessageConverter;
+import com.exam.project.cache.PostAccessLog;
+import com.exam.project.model.Post;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostCacheWarmerTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private PostAccessLog postAccessLog;
+
+    @Mock
+    private ObjectProvider<CachedPostHttpMessageConverter> cachedPostConverter;
+
+    // ================= WARM UP =================
+    @Test
+    void shouldLoadPublishedFeedAndRecentPostsOldestFirst() {
+        when(postService.findByPublished(0, PostQuery.MAX_SIZE))
+                .thenReturn(new ResponseEntity<>(List.of(new Post("Title", "Desc", true)), HttpStatus.OK));
+        when(postAccessLog.recent()).thenReturn(List.of(3L, 2L, 1L));
+        when(postService.getPostById(anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(postService.getPostById(2L)).thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+
+        int loaded = warmer(10, Duration.ofSeconds(5)).warmUp();
+
+        assertThat(loaded).isEqualTo(2);
+        InOrder inOrder = inOrder(postService);
+        inOrder.verify(postService).findByPublished(0, PostQuery.MAX_SIZE);
+        inOrder.verify(postService).getPostById(1L);
+        inOrder.verify(postService).getPostById(2L);
+        inOrder.verify(postService).getPostById(3L);
+    }
+
+    @Test
+    void shouldPreloadJsonOfRecentPosts() throws Exception {
+        CachedPostHttpMessageConverter converter = mock(CachedPostHttpMessageConverter.class);
+        when(cachedPostConverter.getIfAvailable()).thenReturn(converter);
+        Post post = new Post("Title", "Desc", true);
+        when(postService.findByPublished(0, PostQuery.MAX_SIZE))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+        when(postAccessLog.recent()).thenReturn(List.of(1L));
+        when(postService.getPostById(1L)).thenReturn(new ResponseEntity<>(post, HttpStatus.OK));
+
+        warmer(10, Duration.ofSeconds(5)).warmUp();
+
+        verify(converter).preload(post);
+    }
+
+    @Test
+    void shouldLoadAtMostMaxPosts() {
+        when(postService.findByPublished(0, PostQuery.MAX_SIZE))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+        when(postAccessLog.recent()).thenReturn(List.of(3L, 2L, 1L));
+        when(postService.getPostById(anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        int loaded = warmer(2, Duration.ofSeconds(5)).warmUp();
+
+        assertThat(loaded).isEqualTo(2);
+        verify(postService, never()).getPostById(1L);
+    }
+
+    @Test
+    void shouldStopWhenTimedOut() {
+        when(postService.findByPublished(0, PostQuery.MAX_SIZE))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+        when(postAccessLog.recent()).thenReturn(List.of(1L));
+
+        int loaded = warmer(10, Duration.ZERO).warmUp();
+
+        assertThat(loaded).isZero();
+        verify(postService, never()).getPostById(anyLong());
+    }
+
+    private PostCacheWarmer warmer(int maxPosts, Duration timeout) {
+        return new PostCacheWarmer(postService, postAccessLog, cachedPostConverter, maxPosts, timeout);
+    }
+}
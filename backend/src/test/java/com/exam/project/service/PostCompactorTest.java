@@ -0,0 +1,54 @@
+package com.exam.project.service;
+
+import com.exam.project.repository.PostRepository;
+import com.exam.project.sharding.PostShards;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostCompactorTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostCompactor compactor(int batchSize, int maxBatches) {
+        return new PostCompactor(postRepository, PostShards.single(), batchSize, maxBatches, Duration.ofMinutes(1),
+                Double.MAX_VALUE);
+    }
+
+    // ================= COMPACT =================
+    @Test
+    void shouldNotPurgeWhenNothingIsDeleted() {
+        when(postRepository.existsDeletedBefore(any(LocalDateTime.class))).thenReturn(false);
+
+        assertThat(compactor(10, 5).compact()).isZero();
+
+        verify(postRepository, never()).purgeDeleted(any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    void shouldPurgeFullBatchesUntilFewerRowsAreRemoved() {
+        when(postRepository.existsDeletedBefore(any(LocalDateTime.class))).thenReturn(true);
+        when(postRepository.purgeDeleted(any(LocalDateTime.class), eq(10))).thenReturn(10, 10, 3);
+
+        assertThat(compactor(10, 5).compact()).isEqualTo(23);
+
+        verify(postRepository, times(3)).purgeDeleted(any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    void shouldStopAfterMaxBatches() {
+        when(postRepository.existsDeletedBefore(any(LocalDateTime.class))).thenReturn(true);
+        when(postRepository.purgeDeleted(any(LocalDateTime.class), eq(10))).thenReturn(10);
+
+        assertThat(compactor(10, 2).compact()).isEqualTo(20);
+    }
+}
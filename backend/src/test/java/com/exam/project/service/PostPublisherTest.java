@@ -0,0 +1,138 @@
+package com.exam.project.service;
+
+import com.exam.project.audit.PostAuditLog;
+import com.exam.project.cache.PostJsonCache;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostRepository;
+import com.exam.project.repository.PostRepositoryCustom.DueChange;
+import com.exam.project.repository.PostRepositoryCustom.DueTransition;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.resilience.ResilientPostReader.ReadOperation;
+import com.exam.project.sharding.PostShards;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostPublisherTest {
+
+    private static final LocalDateTime SCHEDULED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ResilientPostReader postReader;
+
+    @Mock
+    private PostJsonCache postJsonCache;
+
+    @Mock
+    private PostAuditLog postAuditLog;
+
+    private PostPublisher publisher(int batchSize, int maxBatches) {
+        return new PostPublisher(postRepository, PostShards.single(), postReader, postJsonCache, postAuditLog,
+                batchSize, maxBatches);
+    }
+
+    // ================= APPLY DUE =================
+    @Test
+    void shouldApplyTransitionsInScheduledOrder() {
+        when(postRepository.applyDue(eq(DueTransition.UNPUBLISH_BEFORE_PUBLISH), any(LocalDateTime.class), eq(10)))
+                .thenReturn(changes(true, 1L));
+        when(postRepository.applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(10)))
+                .thenReturn(changes(false, 1L, 2L));
+        when(postRepository.applyDue(eq(DueTransition.UNPUBLISH), any(LocalDateTime.class), eq(10)))
+                .thenReturn(changes(true, 2L));
+
+        int applied = publisher(10, 5).applyDue();
+
+        assertThat(applied).isEqualTo(4);
+        InOrder inOrder = inOrder(postRepository);
+        inOrder.verify(postRepository).applyDue(eq(DueTransition.UNPUBLISH_BEFORE_PUBLISH), any(), eq(10));
+        inOrder.verify(postRepository).applyDue(eq(DueTransition.PUBLISH), any(), eq(10));
+        inOrder.verify(postRepository).applyDue(eq(DueTransition.UNPUBLISH), any(), eq(10));
+        verify(postReader).forget(ReadOperation.PUBLISHED);
+        verify(postReader).forget(ReadOperation.BY_ID, 2L);
+        verify(postJsonCache, times(2)).evict(1L);
+        verify(postAuditLog, times(2)).record(eq(2L), eq(Operation.UPDATE), anyMap());
+    }
+
+    @Test
+    void shouldApplyFullBatchesUntilMaxBatches() {
+        when(postRepository.applyDue(any(DueTransition.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of());
+        when(postRepository.applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(2)))
+                .thenReturn(changes(false, 1L, 2L), changes(false, 3L, 4L), changes(false, 5L, 6L),
+                        changes(false, 7L, 8L));
+
+        int applied = publisher(2, 3).applyDue();
+
+        assertThat(applied).isEqualTo(6);
+        verify(postRepository, times(3)).applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(2));
+        verify(postAuditLog, times(6)).record(anyLong(), eq(Operation.UPDATE), anyMap());
+        verify(postAuditLog, never()).record(eq(7L), any(), anyMap());
+    }
+
+    @Test
+    void shouldCountOnlyPostsChangedByTheUpdate() {
+        when(postRepository.applyDue(any(DueTransition.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of());
+        // the update reports only the posts it changed, fewer than a full batch
+        when(postRepository.applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(2)))
+                .thenReturn(changes(false, 1L, 2L), changes(false, 3L));
+
+        int applied = publisher(2, 5).applyDue();
+
+        assertThat(applied).isEqualTo(3);
+        verify(postRepository, times(2)).applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(2));
+        verify(postJsonCache, times(3)).evict(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordClearedScheduleInAuditDiff() {
+        when(postRepository.applyDue(any(DueTransition.class), any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of());
+        when(postRepository.applyDue(eq(DueTransition.PUBLISH), any(LocalDateTime.class), eq(10)))
+                .thenReturn(changes(false, 1L));
+        // already unpublished by hand, so only the schedule is cleared
+        when(postRepository.applyDue(eq(DueTransition.UNPUBLISH), any(LocalDateTime.class), eq(10)))
+                .thenReturn(changes(false, 2L));
+        ArgumentCaptor<Map<String, Object[]>> published = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<String, Object[]>> unpublished = ArgumentCaptor.forClass(Map.class);
+
+        publisher(10, 5).applyDue();
+
+        verify(postAuditLog).record(eq(1L), eq(Operation.UPDATE), published.capture());
+        verify(postAuditLog).record(eq(2L), eq(Operation.UPDATE), unpublished.capture());
+        assertThat(published.getValue()).containsOnlyKeys("published", "publishAt");
+        assertThat(published.getValue().get("published")).containsExactly(false, true);
+        assertThat(published.getValue().get("publishAt")).containsExactly(SCHEDULED, null);
+        assertThat(unpublished.getValue()).containsOnlyKeys("unpublishAt");
+        assertThat(unpublished.getValue().get("unpublishAt")).containsExactly(SCHEDULED, null);
+    }
+
+    @Test
+    void shouldLeaveCachesAloneWhenNothingIsDue() {
+        int applied = publisher(10, 5).applyDue();
+
+        assertThat(applied).isZero();
+        verifyNoInteractions(postReader, postJsonCache, postAuditLog);
+    }
+
+    private static List<DueChange> changes(boolean published, Long... ids) {
+        return Arrays.stream(ids).map(id -> new DueChange(id, published, SCHEDULED)).toList();
+    }
+}
@@ -1,18 +1,37 @@
 package com.exam.project.service;
 
+import com.exam.project.audit.PostAuditLog;
+import com.exam.project.cache.PostAccessLog;
+import com.exam.project.cache.PostJsonCache;
+import com.exam.project.datasource.ReplicaRoutingContext;
 import com.exam.project.model.Post;
+import com.exam.project.model.PostChange;
+import com.exam.project.model.PostChange.Operation;
+import com.exam.project.repository.PostChangeRepository;
 import com.exam.project.repository.PostRepository;
+import com.exam.project.resilience.ResilientPostReader;
+import com.exam.project.sharding.PostShards;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -23,6 +42,29 @@ class PostServiceImplTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private PostJsonCache postJsonCache;
+
+    @Spy
+    private ResilientPostReader postReader = new ResilientPostReader(
+            Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+            5, Duration.ofSeconds(30), 100, 2);
+
+    @Spy
+    private PostShards postShards = PostShards.single();
+
+    @Mock
+    private PostAccessLog postAccessLog;
+
+    @Mock
+    private PostAuditLog postAuditLog;
+
+    @Mock
+    private PostChangeRepository postChangeRepository;
+
+    @Spy
+    private Executor queryExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -35,24 +77,35 @@ class PostServiceImplTest {
 
     // ================= GET ALL POSTS =================
     @Test
-    void shouldReturnAllPosts() {
-        when(postRepository.findAll()).thenReturn(List.of(post));
+    @SuppressWarnings("unchecked")
+    void shouldReturnPageOfAllPosts() {
+        when(postRepository.findSlice(any(Specification.class), eq(Sort.by("id")), eq(20L), eq(10)))
+                .thenReturn(List.of(post));
 
-        ResponseEntity<List<Post>> response = postService.getAllPosts(null);
+        ResponseEntity<List<Post>> response = postService.getAllPosts(null, 2, 10);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
-        verify(postRepository).findAll();
+        verify(postRepository).findSlice(any(Specification.class), eq(Sort.by("id")), eq(20L), eq(10));
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldReturnNoContentWhenNoPosts() {
-        when(postRepository.findAll()).thenReturn(List.of());
+        when(postRepository.findSlice(any(Specification.class), any(Sort.class), eq(0L), eq(10)))
+                .thenReturn(List.of());
 
-        ResponseEntity<List<Post>> response = postService.getAllPosts(null);
+        ResponseEntity<List<Post>> response = postService.getAllPosts(null, 0, 10);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
-        verify(postRepository).findAll();
+    }
+
+    @Test
+    void shouldRejectOversizedListPage() {
+        ResponseEntity<List<Post>> response = postService.getAllPosts(null, 0, PostQuery.MAX_SIZE + 1);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(postRepository);
     }
 
     // ================= GET POST BY ID =================
@@ -65,6 +118,7 @@ class PostServiceImplTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getTitle()).isEqualTo("Title");
         verify(postRepository).findById(1L);
+        verify(postAccessLog).record(1L);
     }
 
     @Test
@@ -75,6 +129,7 @@ class PostServiceImplTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         verify(postRepository).findById(1L);
+        verify(postAccessLog, never()).record(1L);
     }
 
     // ================= CREATE POST =================
@@ -87,6 +142,7 @@ class PostServiceImplTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isNotNull();
         verify(postRepository).save(any(Post.class));
+        verify(postAuditLog).record(eq(post.getId()), eq(Operation.CREATE), anyMap());
     }
 
     // ================= UPDATE POST =================
@@ -95,11 +151,14 @@ class PostServiceImplTest {
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
-        ResponseEntity<Post> response = postService.updatePosts(1L, post);
+        ResponseEntity<Post> response = postService.updatePosts(1L, new Post("New title", "Description", true));
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(postRepository).findById(1L);
         verify(postRepository).save(post);
+        verify(postJsonCache).evict(1L);
+        verify(postAuditLog).record(eq(1L), eq(Operation.UPDATE),
+                argThat(diff -> diff.keySet().equals(Set.of("title"))));
     }
 
     @Test
@@ -111,49 +170,195 @@ class PostServiceImplTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         verify(postRepository).findById(1L);
         verify(postRepository, never()).save(any());
+        verifyNoInteractions(postAuditLog);
     }
 
     // ================= DELETE POST =================
     @Test
     void shouldDeletePost() {
-        doNothing().when(postRepository).deleteById(1L);
+        Post post = new Post("Title", "Desc", false);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
 
         ResponseEntity<HttpStatus> response = postService.deletePost(1L);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
-        verify(postRepository).deleteById(1L);
+        verify(postRepository).delete(post);
+        verify(postJsonCache).evict(1L);
+        verify(postAccessLog).forget(1L);
+        verify(postAuditLog).record(eq(1L), eq(Operation.DELETE), anyMap());
+    }
+
+    @Test
+    void shouldNotRecordDeleteOfMissingPost() {
+        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<HttpStatus> response = postService.deletePost(1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(postRepository, never()).delete(any());
+        verifyNoInteractions(postJsonCache, postAccessLog, postAuditLog);
     }
 
     // ================= DELETE ALL POSTS =================
     @Test
     void shouldDeleteAllPosts() {
-        doNothing().when(postRepository).deleteAll();
+        when(postRepository.softDeleteAll(any(LocalDateTime.class))).thenReturn(1);
 
         ResponseEntity<HttpStatus> response = postService.deleteAllPosts();
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
-        verify(postRepository).deleteAll();
+        verify(postRepository).softDeleteAll(any(LocalDateTime.class));
+        verify(postRepository, never()).deleteAll();
+        verify(postJsonCache).clear();
+        verify(postAuditLog).record(isNull(), eq(Operation.DELETE_ALL), anyMap());
+    }
+
+    @Test
+    void shouldNotRecordDeleteAllWithoutLivePosts() {
+        when(postRepository.softDeleteAll(any(LocalDateTime.class))).thenReturn(0);
+
+        ResponseEntity<HttpStatus> response = postService.deleteAllPosts();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verifyNoInteractions(postAuditLog);
     }
 
     // ================= FIND PUBLISHED POSTS =================
     @Test
+    @SuppressWarnings("unchecked")
     void shouldReturnPublishedPosts() {
-        when(postRepository.findByPublished(true)).thenReturn(List.of(post));
+        when(postRepository.findSlice(any(Specification.class), eq(Sort.by("id")), eq(0L), eq(10)))
+                .thenReturn(List.of(post));
 
-        ResponseEntity<List<Post>> response = postService.findByPublished();
+        ResponseEntity<List<Post>> response = postService.findByPublished(0, 10);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
-        verify(postRepository).findByPublished(true);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldReturnNoContentWhenNoPublishedPosts() {
-        when(postRepository.findByPublished(true)).thenReturn(List.of());
+        when(postRepository.findSlice(any(Specification.class), any(Sort.class), eq(0L), eq(10)))
+                .thenReturn(List.of());
 
-        ResponseEntity<List<Post>> response = postService.findByPublished();
+        ResponseEntity<List<Post>> response = postService.findByPublished(0, 10);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
-        verify(postRepository).findByPublished(true);
+    }
+
+    // ================= QUERY POSTS =================
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldQueryPostsWithTotalCount() {
+        when(postRepository.findSlice(any(Specification.class), any(Sort.class), eq(20L), eq(10)))
+                .thenReturn(List.of(post));
+        when(postRepository.count(any(Specification.class))).thenReturn(21L);
+
+        ResponseEntity<List<Post>> response = postService.queryPosts(
+                new PostQuery("title", true, null, null, "createdAt,desc", 2, 10, true));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst(PostServiceImpl.TOTAL_COUNT_HEADER)).isEqualTo("21");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCountOnPrimaryWhenCallerIsPinned() {
+        AtomicBoolean countPinned = new AtomicBoolean();
+        when(postRepository.findSlice(any(Specification.class), any(Sort.class), eq(0L), eq(10)))
+                .thenReturn(List.of(post));
+        when(postRepository.count(any(Specification.class))).thenAnswer(invocation -> {
+            countPinned.set(ReplicaRoutingContext.isPinnedToPrimary());
+            return 1L;
+        });
+
+        ReplicaRoutingContext.pinToPrimary();
+        try {
+            postService.queryPosts(new PostQuery(null, null, null, null, "id", 0, 10, true));
+
+            assertThat(countPinned).isTrue();
+            assertThat(ReplicaRoutingContext.isPinnedToPrimary()).isTrue();
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    @Test
+    void shouldRejectQueryWithUnknownSort() {
+        ResponseEntity<List<Post>> response = postService.queryPosts(
+                new PostQuery(null, null, null, null, "description", 0, 10, false));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void shouldRejectQueryBeyondMaximumOffset() {
+        ResponseEntity<List<Post>> response = postService.queryPosts(
+                new PostQuery(null, null, null, null, "id", PostQuery.MAX_OFFSET / 10 + 1, 10, false));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void shouldRejectQueryWhosePageOverflowsTheOffset() {
+        ResponseEntity<List<Post>> response = postService.queryPosts(
+                new PostQuery(null, null, null, null, "id", Integer.MAX_VALUE, PostQuery.MAX_SIZE, false));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(postRepository);
+    }
+
+    // ================= POST HISTORY =================
+    @Test
+    void shouldReturnHistoryPageWithNextCursor() {
+        PostChange newer = mock(PostChange.class);
+        PostChange older = mock(PostChange.class);
+        when(older.getId()).thenReturn(7L);
+        when(postChangeRepository.findByPostIdAndIdLessThanOrderByIdDesc(eq(1L), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(newer, older));
+
+        ResponseEntity<List<PostChange>> response = postService.getPostHistory(1L, null, 2);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(2);
+        assertThat(response.getHeaders().getFirst(PostServiceImpl.NEXT_BEFORE_HEADER)).isEqualTo("7");
+    }
+
+    @Test
+    void shouldRejectHistoryPageAboveMaximumSize() {
+        ResponseEntity<List<PostChange>> response =
+                postService.getPostHistory(1L, null, PostServiceImpl.MAX_HISTORY_SIZE + 1);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(postChangeRepository);
+    }
+
+    // ================= STALE FALLBACK =================
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldServeStalePublishedPostsWhenDatabaseFails() {
+        when(postRepository.findSlice(any(Specification.class), any(Sort.class), eq(0L), eq(10)))
+                .thenReturn(List.of(post))
+                .thenThrow(new IllegalStateException("database locked"));
+
+        postService.findByPublished(0, 10);
+        ResponseEntity<List<Post>> response = postService.findByPublished(0, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst(PostServiceImpl.STALE_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void shouldReturnInternalServerErrorWhenNoStaleResultAvailable() {
+        when(postRepository.findById(1L)).thenThrow(new IllegalStateException("database locked"));
+
+        ResponseEntity<Post> response = postService.getPostById(1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
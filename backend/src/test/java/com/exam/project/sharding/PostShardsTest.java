@@ -0,0 +1,64 @@
+package com.exam.project.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostShardsTest {
+
+    private final PostShards shards = new PostShards(3, null, 3);
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    // ================= ROUTING =================
+    @Test
+    void shouldSpreadSequentialIdsAcrossShards() {
+        long[] perShard = new long[3];
+        LongStream.rangeClosed(1, 3000).forEach(id -> perShard[shards.shardFor(id)]++);
+
+        assertThat(perShard).allSatisfy(count -> assertThat(count).isBetween(800L, 1200L));
+    }
+
+    @Test
+    void shouldRunTaskOnOwningShard() {
+        Integer shard = shards.onShardFor(42L, ShardContext::current);
+
+        assertThat(shard).isEqualTo(shards.shardFor(42L));
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    // ================= SCATTER-GATHER =================
+    @Test
+    void shouldMergeShardResultsInOrder() {
+        List<Long> merged = shards.gather(
+                () -> List.of(30L + ShardContext.current(), 10L + ShardContext.current(), 20L + ShardContext.current()),
+                Comparator.naturalOrder());
+
+        assertThat(merged).containsExactly(10L, 11L, 12L, 20L, 21L, 22L, 30L, 31L, 32L);
+    }
+
+    @Test
+    void shouldReturnRequestedPageOfMergedResults() {
+        List<Long> page = shards.gather(
+                () -> List.of(10L + ShardContext.current(), 20L + ShardContext.current()),
+                Comparator.naturalOrder(), 2, 3);
+
+        assertThat(page).containsExactly(12L, 20L, 21L);
+    }
+
+    @Test
+    void shouldRunInlineWithSingleShard() {
+        PostShards single = PostShards.single();
+
+        assertThat(single.onEveryShard(ShardContext::current)).containsExactly((Integer) null);
+        assertThat(single.nextId()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package com.exam.project.sharding;
+
+import com.exam.project.model.Post;
+import com.exam.project.service.PostQuery;
+import com.exam.project.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "posts.sharding.enabled=true",
+        "posts.sharding.shard-urls=jdbc:h2:file:./target/shards/shard0,jdbc:h2:file:./target/shards/shard1",
+        "posts.warmup.access-log.path=./target/shards/post-access.log"
+})
+class ShardedPostServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    // ================= CREATE & GET =================
+    @Test
+    void shouldStorePostsOnBothShardsAndFindThemById() throws SQLException {
+        String prefix = UUID.randomUUID().toString();
+        List<Post> created = createPosts(prefix, 20);
+
+        assertThat(countOnShard(0, prefix)).isPositive();
+        assertThat(countOnShard(1, prefix)).isPositive();
+        assertThat(countOnShard(0, prefix) + countOnShard(1, prefix)).isEqualTo(20);
+
+        for (Post post : created) {
+            ResponseEntity<Post> response = postService.getPostById(post.getId());
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getTitle()).isEqualTo(post.getTitle());
+        }
+    }
+
+    // ================= SCATTER-GATHER =================
+    @Test
+    void shouldGatherTitleSearchFromAllShardsInIdOrder() {
+        String prefix = UUID.randomUUID().toString();
+        List<Post> created = createPosts(prefix, 10);
+
+        ResponseEntity<List<Post>> response = postService.getAllPosts(prefix, 0, 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .extracting(Post::getId)
+                .containsExactlyElementsOf(created.stream()
+                        .map(Post::getId)
+                        .sorted(Comparator.naturalOrder())
+                        .toList());
+    }
+
+    @Test
+    void shouldCutPageOutOfMergedShards() {
+        String prefix = UUID.randomUUID().toString();
+        List<Long> ids = createPosts(prefix, 10).stream()
+                .map(Post::getId)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+
+        ResponseEntity<List<Post>> response = postService.getAllPosts(prefix, 1, 3);
+
+        assertThat(response.getBody())
+                .extracting(Post::getId)
+                .containsExactlyElementsOf(ids.subList(3, 6));
+    }
+
+    @Test
+    void shouldGatherEveryShardOnRepeatedQueries() {
+        String prefix = UUID.randomUUID().toString();
+        List<Post> created = createPosts(prefix, 10);
+        created.forEach(post -> postService.updatePosts(post.getId(), new Post(post.getTitle(), "Desc", true)));
+        List<Long> expected = created.stream()
+                .map(Post::getId)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+
+        // the second round would be served from the query cache if its keys ignored the shard
+        for (int round = 0; round < 2; round++) {
+            assertThat(postService.getAllPosts(prefix, 0, 20).getBody())
+                    .extracting(Post::getId)
+                    .containsExactlyElementsOf(expected);
+            assertThat(publishedPosts())
+                    .filteredOn(post -> post.getTitle().startsWith(prefix))
+                    .extracting(Post::getId)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private List<Post> publishedPosts() {
+        List<Post> published = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            ResponseEntity<List<Post>> response = postService.findByPublished(page, PostQuery.MAX_SIZE);
+            if (!response.hasBody()) {
+                return published;
+            }
+            published.addAll(response.getBody());
+        }
+    }
+
+    private List<Post> createPosts(String prefix, int count) {
+        List<Post> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ResponseEntity<Post> response = postService.createPost(new Post(prefix + " " + i, "Desc", false));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            created.add(response.getBody());
+        }
+        return created;
+    }
+
+    private int countOnShard(int shard, String prefix) throws SQLException {
+        try (Connection connection = shardRoutingDataSource.getShard(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM posts WHERE title LIKE ?")) {
+            statement.setString(1, prefix + "%");
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -5,6 +5,11 @@ import { Post } from "../types/Post";
 //const BASE_URL = "https://jsonplaceholder.typicode.com";
 const BASE_URL = "http://localhost:9098/api";
 
+// Send cookies with every request: after a write the backend sets a cookie
+// that routes this client's reads to the primary database until the replicas
+// have caught up, and the browser only returns it on credentialed requests
+const CONFIG = { withCredentials: true };
+
 // =====================
 // API FUNCTIONS
 // =====================
@@ -12,26 +17,26 @@ const BASE_URL = "http://localhost:9098/api";
 // Fetch all posts from the API
 // Returns a Promise with an array of Post objects
 export const getAllPosts = () => 
-  axios.get<Post[]>(`${BASE_URL}/posts`);
+  axios.get<Post[]>(`${BASE_URL}/posts`, CONFIG);
 
 // Fetch a single post by its ID
 // Returns a Promise with a single Post object
 export const getPostById = (id: number) => 
-  axios.get<Post>(`${BASE_URL}/posts/${id}`);
+  axios.get<Post>(`${BASE_URL}/posts/${id}`, CONFIG);
 
 // Add a new post
 // 'post' must have title, body, and userId, but no id (API will assign it)
 // Returns a Promise with the newly created Post object
 export const addPost = (post: Omit<Post, "id">) => 
-  axios.post<Post>(`${BASE_URL}/posts`, post);
+  axios.post<Post>(`${BASE_URL}/posts`, post, CONFIG);
 
 // Edit an existing post by ID
 // 'post' must have title, body, and userId, but no id
 // Returns a Promise with the updated Post object
 export const editPost = (id: number, post: Omit<Post, "id">) => 
-  axios.put<Post>(`${BASE_URL}/posts/${id}`, post);
+  axios.put<Post>(`${BASE_URL}/posts/${id}`, post, CONFIG);
 
 // Delete a post by its ID
 // Returns a Promise for deletion (no data returned)
 export const deletePost = (id: number) => 
-  axios.delete(`${BASE_URL}/posts/${id}`);
+  axios.delete(`${BASE_URL}/posts/${id}`, CONFIG);
@@ -0,0 +1,110 @@
+package com.exam.project.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects per-operation latencies and error counts for a single worker.
+ *
+ * <p>
+ * Each worker owns its recorder, so recording needs no synchronization.
+ * Recorders are merged once the run is over and then reported.
+ * </p>
+ */
+public class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    /**
+     * Records one request.
+     *
+     * @param operation    the operation issued
+     * @param latencyNanos time from send to full response
+     * @param error        {@code true} for transport errors and 5xx responses
+     */
+    public void record(Operation operation, long latencyNanos, boolean error) {
+        samples.computeIfAbsent(operation, op -> new Samples()).add(latencyNanos, error);
+    }
+
+    /**
+     * Adds all samples of another recorder to this one.
+     */
+    public void merge(LatencyRecorder other) {
+        other.samples.forEach((operation, theirs) ->
+                samples.computeIfAbsent(operation, op -> new Samples()).addAll(theirs));
+    }
+
+    /**
+     * Prints throughput, latency percentiles and error rate per operation.
+     *
+     * @param out           where to print
+     * @param elapsedMillis wall-clock duration of the run
+     */
+    public void report(PrintStream out, long elapsedMillis) {
+        double seconds = elapsedMillis / 1000.0;
+        Samples total = new Samples();
+
+        out.printf("%-8s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                "op", "count", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Map.Entry<Operation, Samples> entry : samples.entrySet()) {
+            print(out, entry.getKey().key(), entry.getValue(), seconds);
+            total.addAll(entry.getValue());
+        }
+        print(out, "total", total, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Samples s, double seconds) {
+        long[] sorted = Arrays.copyOf(s.latencies, s.count);
+        Arrays.sort(sorted);
+        out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                name, s.count, s.count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), percentile(sorted, 1.0),
+                s.count == 0 ? 0.0 : 100.0 * s.errors / s.count);
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param sorted   latencies in nanoseconds, ascending
+     * @param quantile the quantile, e.g. {@code 0.99}
+     * @return the latency in milliseconds
+     */
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        void add(long latencyNanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
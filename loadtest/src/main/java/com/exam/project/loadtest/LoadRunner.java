@@ -0,0 +1,150 @@
+package com.exam.project.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays a {@link WorkloadMix} against a running backend with a fixed
+ * number of closed-loop workers and reports the results.
+ *
+ * <p>
+ * Post IDs for {@code get}, {@code update}, {@code publish} and
+ * {@code delete} are drawn uniformly from {@code 1..maxId}, so a share of
+ * them hits deleted posts; 404 responses are expected and not counted as
+ * errors. Transport failures, timeouts and 5xx responses are.
+ * </p>
+ */
+public class LoadRunner {
+
+    private final String baseUrl;
+
+    private final WorkloadMix mix;
+
+    private final int concurrency;
+
+    private final Duration duration;
+
+    private final Duration warmup;
+
+    private final long maxId;
+
+    private final HttpClient client;
+
+    public LoadRunner(String baseUrl, WorkloadMix mix, int concurrency, Duration duration,
+                      Duration warmup, long maxId) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.maxId = maxId;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Runs the warm-up phase, then the measured phase, and prints the report.
+     */
+    public void run() throws InterruptedException {
+        if (!warmup.isZero()) {
+            System.out.printf("warming up for %s%n", warmup);
+            execute(warmup);
+        }
+
+        System.out.printf("running %d workers for %s%n", concurrency, duration);
+        long started = System.nanoTime();
+        LatencyRecorder result = execute(duration);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        result.report(System.out, elapsedMillis);
+    }
+
+    private LatencyRecorder execute(Duration phase) throws InterruptedException {
+        long deadline = System.nanoTime() + phase.toNanos();
+        List<Thread> workers = new ArrayList<>(concurrency);
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    issue(mix.next(), recorder);
+                }
+            }, "load-worker-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        recorders.forEach(merged::merge);
+        return merged;
+    }
+
+    private void issue(Operation operation, LatencyRecorder recorder) {
+        HttpRequest request = request(operation);
+        long started = System.nanoTime();
+        boolean error;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            error = response.statusCode() >= 500;
+        } catch (IOException e) {
+            error = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(operation, System.nanoTime() - started, error);
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextLong(maxId);
+        String topic = PostSeeder.TOPICS[random.nextInt(PostSeeder.TOPICS.length)];
+
+        return switch (operation) {
+            case LIST -> get("/api/posts");
+            case SEARCH -> get("/api/posts?title=" + topic);
+            case GET -> get("/api/posts/" + id);
+            case CREATE -> send("POST", "/api/posts", body("New post about " + topic, false));
+            case UPDATE -> send("PUT", "/api/posts/" + id, body("Updated post about " + topic, false));
+            case PUBLISH -> send("PUT", "/api/posts/" + id, body("Published post about " + topic, true));
+            case DELETE -> send("DELETE", "/api/posts/" + id, null);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+    }
+
+    private static String body(String title, boolean published) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Generated by the load test\",\"published\":"
+                + published + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.exam.project.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the load generator.
+ *
+ * <p>
+ * Seed the database while the backend is stopped, then start the backend and
+ * replay a workload against it:
+ * </p>
+ *
+ * <pre>
+ * java -jar loadtest.jar seed --db ../backend/testdb --posts 2000000 --published 0.3
+ * java -jar loadtest.jar run --url http://localhost:9098 --max-id 2000000 \
+ *     --concurrency 64 --duration 60s --warmup 10s --mix get=60,search=10,create=10,update=10,publish=5,delete=3,list=2
+ * </pre>
+ *
+ * <p>
+ * Everything runs locally; no external services are contacted.
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        Map<String, String> options = options(args);
+
+        switch (args[0]) {
+            case "seed" -> new PostSeeder(options.getOrDefault("db", "../backend/testdb"))
+                    .seed(Long.parseLong(options.getOrDefault("posts", "1000000")),
+                            Double.parseDouble(options.getOrDefault("published", "0.3")));
+            case "run" -> new LoadRunner(
+                    options.getOrDefault("url", "http://localhost:9098"),
+                    WorkloadMix.parse(options.getOrDefault("mix", WorkloadMix.DEFAULT)),
+                    Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                    duration(options.getOrDefault("duration", "60s")),
+                    duration(options.getOrDefault("warmup", "10s")),
+                    Long.parseLong(options.getOrDefault("max-id", "1000000"))).run();
+            default -> usage();
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        String unit = value.replaceAll("[0-9]", "");
+        long amount = Long.parseLong(value.substring(0, value.length() - unit.length()));
+        return switch (unit) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s", "" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unknown duration unit in " + value);
+        };
+    }
+
+    private static void usage() {
+        System.out.println("usage: loadtest seed [--db path] [--posts n] [--published ratio]");
+        System.out.println("       loadtest run [--url url] [--max-id n] [--concurrency n] [--duration 60s]"
+                + " [--warmup 10s] [--mix " + WorkloadMix.DEFAULT + "]");
+    }
+}
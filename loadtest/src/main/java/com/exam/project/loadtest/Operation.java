@@ -0,0 +1,21 @@
+package com.exam.project.loadtest;
+
+/**
+ * Requests issued against {@code PostController} by the load generator.
+ */
+public enum Operation {
+    LIST,
+    SEARCH,
+    GET,
+    CREATE,
+    UPDATE,
+    PUBLISH,
+    DELETE;
+
+    /**
+     * @return the name used for this operation in a {@code --mix} argument
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
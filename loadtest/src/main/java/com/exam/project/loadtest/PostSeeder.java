@@ -0,0 +1,116 @@
+package com.exam.project.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bulk-loads synthetic posts straight into the backend's H2 file.
+ *
+ * <p>
+ * H2 file databases are opened exclusively, so the backend must be stopped
+ * while seeding. The schema mirrors what Hibernate generates for
+ * {@code Post}; after loading, {@code posts_seq} is moved past the new rows
+ * so the application keeps generating unique IDs.
+ * </p>
+ */
+public class PostSeeder {
+
+    /**
+     * Words used in titles; {@code search} requests pick from the same list.
+     */
+    public static final String[] TOPICS = {
+            "spring", "java", "hibernate", "h2", "react", "docker", "kotlin", "testing",
+            "performance", "security", "cloud", "database", "cache", "api", "design", "release"
+    };
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final long CREATED_AT_SPREAD_SECONDS = 365L * 24 * 3600;
+
+    private final String jdbcUrl;
+
+    public PostSeeder(String databasePath) {
+        this.jdbcUrl = "jdbc:h2:file:" + databasePath;
+    }
+
+    /**
+     * Inserts {@code count} posts in batched transactions.
+     *
+     * @param count          number of posts to insert
+     * @param publishedRatio share of posts inserted as published, between 0 and 1
+     * @return the highest post ID after seeding
+     */
+    public long seed(long count, double publishedRatio) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+            connection.setAutoCommit(false);
+            createSchema(connection);
+
+            long firstId = maxId(connection) + 1;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long started = System.nanoTime();
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO posts (id, title, description, published, created_at, version, deleted) "
+                            + "VALUES (?, ?, ?, ?, DATEADD(SECOND, ?, CURRENT_TIMESTAMP), 0, FALSE)")) {
+                for (long i = 0; i < count; i++) {
+                    long id = firstId + i;
+                    String topic = TOPICS[random.nextInt(TOPICS.length)];
+                    insert.setLong(1, id);
+                    insert.setString(2, "Post " + id + " about " + topic);
+                    insert.setString(3, "Synthetic " + topic + " post generated for load testing");
+                    insert.setBoolean(4, random.nextDouble() < publishedRatio);
+                    insert.setLong(5, -random.nextLong(CREATED_AT_SPREAD_SECONDS));
+                    insert.addBatch();
+
+                    if ((i + 1) % BATCH_SIZE == 0 || i + 1 == count) {
+                        insert.executeBatch();
+                        connection.commit();
+                        System.out.printf("seeded %d/%d posts%n", i + 1, count);
+                    }
+                }
+            }
+
+            long lastId = firstId + count - 1;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE posts_seq RESTART WITH " + (lastId + 100));
+            }
+            connection.commit();
+
+            System.out.printf("seeded %d posts in %d ms%n", count, (System.nanoTime() - started) / 1_000_000);
+            return lastId;
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS posts ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "title VARCHAR(255), "
+                    + "description VARCHAR(255), "
+                    + "published BOOLEAN NOT NULL, "
+                    + "publish_at TIMESTAMP(6), "
+                    + "unpublish_at TIMESTAMP(6), "
+                    + "created_at TIMESTAMP(6), "
+                    + "version BIGINT DEFAULT 0 NOT NULL, "
+                    + "deleted BOOLEAN DEFAULT FALSE NOT NULL, "
+                    + "deleted_at TIMESTAMP(6))");
+            statement.execute("ALTER TABLE posts ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6)");
+            statement.execute("ALTER TABLE posts ADD COLUMN IF NOT EXISTS publish_at TIMESTAMP(6)");
+            statement.execute("ALTER TABLE posts ADD COLUMN IF NOT EXISTS unpublish_at TIMESTAMP(6)");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS posts_seq START WITH 1 INCREMENT BY 50");
+        }
+    }
+
+    private static long maxId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM posts")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.exam.project.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted read/write mix, parsed from a spec such as
+ * {@code get=60,search=10,list=2,create=10,update=10,publish=5,delete=3}.
+ */
+public class WorkloadMix {
+
+    public static final String DEFAULT = "get=60,search=10,list=2,create=10,update=10,publish=5,delete=3";
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        operations = new Operation[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        totalWeight = total;
+    }
+
+    /**
+     * Parses a mix spec; operations missing from the spec get weight zero.
+     *
+     * @param spec comma-separated {@code operation=weight} pairs
+     * @return the parsed mix
+     * @throws IllegalArgumentException if the spec is malformed or all weights are zero
+     */
+    public static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            Operation operation = Operation.valueOf(pair[0].trim().toUpperCase());
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operation.key());
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operation with a positive weight");
+        }
+        return new WorkloadMix(weights);
+    }
+
+    /**
+     * @return a random operation, chosen according to the weights
+     */
+    public Operation next() {
+        return select(ThreadLocalRandom.current().nextInt(totalWeight));
+    }
+
+    /**
+     * @param roll a number in {@code [0, totalWeight)}
+     * @return the operation whose weight range contains {@code roll}
+     */
+    Operation select(int roll) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    int totalWeight() {
+        return totalWeight;
+    }
+}
@@ -0,0 +1,70 @@
+package com.exam.project.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyRecorderTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    // ================= PERCENTILES =================
+    @Test
+    void shouldUseNearestRank() {
+        long[] sorted = LongStream.rangeClosed(1, 100).map(i -> i * MILLIS).toArray();
+
+        assertThat(LatencyRecorder.percentile(sorted, 0.50)).isEqualTo(50.0);
+        assertThat(LatencyRecorder.percentile(sorted, 0.90)).isEqualTo(90.0);
+        assertThat(LatencyRecorder.percentile(sorted, 0.99)).isEqualTo(99.0);
+        assertThat(LatencyRecorder.percentile(sorted, 0.999)).isEqualTo(100.0);
+        assertThat(LatencyRecorder.percentile(sorted, 1.0)).isEqualTo(100.0);
+    }
+
+    @Test
+    void shouldHandleSmallSamples() {
+        assertThat(LatencyRecorder.percentile(new long[0], 0.99)).isZero();
+        assertThat(LatencyRecorder.percentile(new long[]{7 * MILLIS}, 0.0)).isEqualTo(7.0);
+        assertThat(LatencyRecorder.percentile(new long[]{1 * MILLIS, 2 * MILLIS}, 0.5)).isEqualTo(1.0);
+    }
+
+    // ================= REPORT =================
+    @Test
+    void shouldReportMergedSamples() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        // more samples than the initial buffer, to cover growing and merging
+        for (int i = 1; i <= 1500; i++) {
+            first.record(Operation.GET, i * MILLIS, false);
+        }
+        for (int i = 1501; i <= 2000; i++) {
+            second.record(Operation.GET, i * MILLIS, i % 100 == 0);
+        }
+        second.record(Operation.CREATE, 3 * MILLIS, true);
+
+        first.merge(second);
+        String report = report(first, 2000);
+
+        assertThat(report).containsPattern("get\\s+2000\\s+1000\\.0\\s+1000\\.00\\s+1800\\.00\\s+1980\\.00\\s+1998\\.00"
+                + "\\s+2000\\.00\\s+0\\.25%");
+        assertThat(report).containsPattern("create\\s+1\\s+0\\.5\\s+3\\.00");
+        assertThat(report).containsPattern("total\\s+2001\\s+");
+    }
+
+    private static String report(LatencyRecorder recorder, long elapsedMillis) {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            recorder.report(new PrintStream(out, true, StandardCharsets.UTF_8), elapsedMillis);
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.exam.project.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadMixTest {
+
+    // ================= SELECTION =================
+    @Test
+    void shouldSelectOperationsByCumulativeWeight() {
+        WorkloadMix mix = WorkloadMix.parse("get=3, create=1,delete=0,list=2");
+
+        assertThat(mix.totalWeight()).isEqualTo(6);
+        // operations are ordered as declared in Operation: list, get, create
+        assertThat(mix.select(0)).isEqualTo(Operation.LIST);
+        assertThat(mix.select(1)).isEqualTo(Operation.LIST);
+        assertThat(mix.select(2)).isEqualTo(Operation.GET);
+        assertThat(mix.select(4)).isEqualTo(Operation.GET);
+        assertThat(mix.select(5)).isEqualTo(Operation.CREATE);
+    }
+
+    @Test
+    void shouldNeverSelectZeroWeightOperations() {
+        WorkloadMix mix = WorkloadMix.parse("get=1,delete=0");
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(mix.next()).isEqualTo(Operation.GET);
+        }
+    }
+
+    @Test
+    void shouldFollowWeightsOfDefaultMix() {
+        WorkloadMix mix = WorkloadMix.parse(WorkloadMix.DEFAULT);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        for (int roll = 0; roll < mix.totalWeight(); roll++) {
+            counts.merge(mix.select(roll), 1, Integer::sum);
+        }
+
+        assertThat(mix.totalWeight()).isEqualTo(100);
+        assertThat(counts).containsEntry(Operation.GET, 60)
+                .containsEntry(Operation.SEARCH, 10)
+                .containsEntry(Operation.LIST, 2)
+                .containsEntry(Operation.CREATE, 10)
+                .containsEntry(Operation.UPDATE, 10)
+                .containsEntry(Operation.PUBLISH, 5)
+                .containsEntry(Operation.DELETE, 3);
+    }
+
+    // ================= PARSING =================
+    @Test
+    void shouldRejectMalformedSpecs() {
+        assertThatThrownBy(() -> WorkloadMix.parse("get")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("get=-1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("get=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("fetch=1")).isInstanceOf(IllegalArgumentException.class);
+    }
+}